@@ -89,12 +89,23 @@ class Concurrent implements Runnable {
                 test.setIsFailed(true);
             }
             stopWatch.stop();
-            log.info("Test [{}] completed; elapsed time (hh:mm:ss:ms) [{}]", name,
-                    stopWatch.toString());
+            test.setElapsedMillis(stopWatch.getTime());
+            log.info(
+                    "Test [{}] completed; elapsed time (hh:mm:ss:ms) [{}], queued (ms) [{}],"
+                            + " paused (ms) [{}], Angular waits [{}], skipped [{}],"
+                            + " idle waits [{}], skipped [{}]",
+                    name, stopWatch.toString(), test.getQueueWaitMillis(),
+                    CosengRunner.getPauseMillis(name), CosengRunner.getAngularWaits(name),
+                    CosengRunner.getSkippedAngularWaits(name), CosengRunner.getIdleWaits(name),
+                    CosengRunner.getSkippedIdleWaits(name));
             notifyIntegrators(test, test.getReportDirectoryFile(), test.getResourceDirectory());
         } catch (Exception e) {
             test.setIsFailed(true);
             throw new RuntimeException("Unable to execute TestNG run for test [" + name + "]", e);
+        } finally {
+            /* Release the thread contexts of this test's TestNG threads */
+            CosengRunner.removeThreadTests(name);
+            WebDriverLifecycle.stopSharedWebDriverService(name);
         }
     }
 
@@ -0,0 +1,280 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import com.paulhammant.ngwebdriver.NgWebDriver;
+
+/**
+ * The Class CosengContext holds the test and the Selenium tools for a single
+ * thread. One context exists per thread; it is written by the owning thread
+ * when a web driver is started or stopped and may be read without locking by
+ * any thread. The Selenium tools are published together as one immutable
+ * reference so a reader never sees a partially assigned set.
+ *
+ * @see com.sios.stc.coseng.run.CosengRunner
+ * @since 3.0
+ * @version.coseng
+ */
+class CosengContext {
+
+    private final Thread           thread;
+    private volatile Test          test;
+    private volatile SeleniumTools seleniumTools;
+
+    /**
+     * Instantiates a new coseng context for the given thread.
+     *
+     * @param thread
+     *            the thread; may not be null
+     * @since 3.0
+     * @version.coseng
+     */
+    protected CosengContext(Thread thread) {
+        this.thread = thread;
+    }
+
+    /**
+     * Gets the thread owning this context.
+     *
+     * @return the thread
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Thread getThread() {
+        return thread;
+    }
+
+    /**
+     * Gets the test.
+     *
+     * @return the test; may be null
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Test getTest() {
+        return test;
+    }
+
+    /**
+     * Sets the test.
+     *
+     * @param test
+     *            the new test
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setTest(Test test) {
+        this.test = test;
+    }
+
+    /**
+     * Sets the selenium tools derived from the web driver.
+     *
+     * @param webDriver
+     *            the web driver; may not be null
+     * @param webDriverService
+     *            the web driver service; null for grid
+     * @param webDriverWaitTimeoutSeconds
+     *            the web driver wait timeout seconds
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setSeleniumTools(WebDriver webDriver, Object webDriverService,
+            long webDriverWaitTimeoutSeconds) {
+        seleniumTools =
+                new SeleniumTools(webDriver, webDriverService, webDriverWaitTimeoutSeconds);
+    }
+
+    /**
+     * Clear the selenium tools. Drops all references to the web driver and its
+     * derived objects so a stopped web driver is not kept reachable.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void clearSeleniumTools() {
+        seleniumTools = null;
+    }
+
+    /**
+     * Gets the selenium tools. The tools are immutable; a holder of the
+     * reference sees the same set until it reads again.
+     *
+     * @return the selenium tools; may be null
+     * @see com.sios.stc.coseng.run.WebElements#findAll()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected SeleniumTools getSeleniumTools() {
+        return seleniumTools;
+    }
+
+    /**
+     * Checks for web driver.
+     *
+     * @return true, if successful
+     * @since 3.0
+     * @version.coseng
+     */
+    protected boolean hasWebDriver() {
+        return seleniumTools != null;
+    }
+
+    /**
+     * Gets the web driver.
+     *
+     * @return the web driver; may be null
+     * @since 3.0
+     * @version.coseng
+     */
+    protected WebDriver getWebDriver() {
+        SeleniumTools tools = seleniumTools;
+        return tools == null ? null : tools.webDriver;
+    }
+
+    /**
+     * Gets the web driver service.
+     *
+     * @return the web driver service; may be null
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Object getWebDriverService() {
+        SeleniumTools tools = seleniumTools;
+        return tools == null ? null : tools.webDriverService;
+    }
+
+    /**
+     * Gets the web driver wait.
+     *
+     * @return the web driver wait; may be null
+     * @since 3.0
+     * @version.coseng
+     */
+    protected WebDriverWait getWebDriverWait() {
+        SeleniumTools tools = seleniumTools;
+        return tools == null ? null : tools.webDriverWait;
+    }
+
+    /**
+     * Gets the actions.
+     *
+     * @return the actions; may be null
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Actions getActions() {
+        SeleniumTools tools = seleniumTools;
+        return tools == null ? null : tools.actions;
+    }
+
+    /**
+     * Gets the javascript executor.
+     *
+     * @return the javascript executor; may be null
+     * @since 3.0
+     * @version.coseng
+     */
+    protected JavascriptExecutor getJavascriptExecutor() {
+        SeleniumTools tools = seleniumTools;
+        return tools == null ? null : tools.jsExecutor;
+    }
+
+    /**
+     * Gets the ng web driver.
+     *
+     * @return the ng web driver; may be null
+     * @since 3.0
+     * @version.coseng
+     */
+    protected NgWebDriver getNgWebDriver() {
+        SeleniumTools tools = seleniumTools;
+        return tools == null ? null : tools.ngWebDriver;
+    }
+
+    /**
+     * Gets the page activity of the web driver.
+     *
+     * @return the page activity; may be null
+     * @see com.sios.stc.coseng.run.PageActivity
+     * @since 3.0
+     * @version.coseng
+     */
+    protected PageActivity getPageActivity() {
+        SeleniumTools tools = seleniumTools;
+        return tools == null ? null : tools.pageActivity;
+    }
+
+    /**
+     * The Class SeleniumTools is the immutable set of Selenium objects derived
+     * from a started web driver, and the activity of its page.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static final class SeleniumTools {
+
+        private final WebDriver          webDriver;
+        private final Object             webDriverService;
+        private final WebDriverWait      webDriverWait;
+        private final Actions            actions;
+        private final JavascriptExecutor jsExecutor;
+        private final NgWebDriver        ngWebDriver;
+        private final PageActivity       pageActivity;
+
+        private SeleniumTools(WebDriver webDriver, Object webDriverService,
+                long webDriverWaitTimeoutSeconds) {
+            this.webDriver = webDriver;
+            this.webDriverService = webDriverService;
+            this.webDriverWait = new WebDriverWait(webDriver, webDriverWaitTimeoutSeconds);
+            this.actions = new Actions(webDriver);
+            this.jsExecutor = (JavascriptExecutor) webDriver;
+            this.ngWebDriver = new NgWebDriver((JavascriptExecutor) webDriver);
+            this.pageActivity = new PageActivity();
+        }
+
+        protected WebDriver getWebDriver() {
+            return webDriver;
+        }
+
+        protected WebDriverWait getWebDriverWait() {
+            return webDriverWait;
+        }
+
+        protected Actions getActions() {
+            return actions;
+        }
+
+        protected JavascriptExecutor getJavascriptExecutor() {
+            return jsExecutor;
+        }
+
+        protected NgWebDriver getNgWebDriver() {
+            return ngWebDriver;
+        }
+
+        protected PageActivity getPageActivity() {
+            return pageActivity;
+        }
+    }
+
+}
@@ -108,12 +108,19 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
         START, STOP
     };
 
-    private static final Logger log           =
+    private static final Logger   log           =
             LogManager.getLogger(CosengListener.class.getName());
-    private Test                test;
-    private boolean             isOneWebDriver;
-    private ParallelMode        parallelMode;
-    private int                 xmlSuiteCount = 0;
+    /*
+     * The test of the thread constructing the listener; the template copied
+     * for each new TestNG worker thread. Each callback works on its own
+     * thread's test so the callbacks, and the web driver start/stop they
+     * trigger, need not be serialized on the listener.
+     */
+    private Test                  test;
+    private volatile boolean      isOneWebDriver;
+    private volatile ParallelMode parallelMode;
+    private int                   xmlSuiteCount = 0;
+    private WebDriverPool         webDriverPool = null;
 
     /**
      * Instantiates a new coseng listener. The constructor must be public for
@@ -126,12 +133,19 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      */
     public CosengListener() throws CosengException {
         setCosengContext();
+        if (!isOneWebDriver && test.getWebDriverPoolSize() > 0) {
+            webDriverPool = new WebDriverPool(test, test.getWebDriverPoolSize(),
+                    test.getWebDriverPoolMaxUses());
+        }
         log.debug("CosengListener constructor, thread [{}]", Thread.currentThread().getId());
     }
 
     /**
-     * Sets the coseng context with the current threads test.
+     * Sets the coseng context with the current threads test. Only the lookup
+     * and, if needed, the copy of the test for a new thread are made under the
+     * listener lock.
      *
+     * @return the current thread's test
      * @throws CosengException
      *             the coseng exception
      * @see com.sios.stc.coseng.run.Concurrent#run()
@@ -139,10 +153,14 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      * @since 2.0
      * @version.coseng
      */
-    private synchronized boolean setCosengContext() throws CosengException {
+    private synchronized Test setCosengContext() throws CosengException {
         Thread thread = Thread.currentThread();
         Test threadTest = CosengRunner.getThreadTest(thread);
-        if (threadTest == null) {
+        if (test == null) {
+            /* Constructing thread; its test is the template for copies */
+            test = threadTest;
+        }
+        if (threadTest == null && test != null) {
             /*
              * No test-thread association. Copy current test for new thread and
              * record for further thread use. NOTE! Cloned test is solely to
@@ -155,13 +173,15 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
             threadTest = test.deepCopy();
             CosengRunner.addThreadTest(thread, threadTest);
         }
-        if (CosengRunner.getThreadTest(thread) != null) {
-            test = CosengRunner.getThreadTest(thread);
-            isOneWebDriver = test.isOneWebDriver();
-            return true;
-        } else {
+        threadTest = CosengRunner.getThreadTest(thread);
+        if (threadTest != null) {
+            isOneWebDriver = threadTest.isOneWebDriver();
+            return threadTest;
+        } else if (test != null) {
             test.setIsFailed(true);
             throw new CosengException("Unable to deep copy test [" + test.getName() + "]");
+        } else {
+            throw new CosengException("No test for thread [" + thread.getId() + "]");
         }
     }
 
@@ -172,24 +192,34 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      */
     /* <IExecutionListener> */
     @Override
-    public synchronized void onExecutionFinish() {
+    public void onExecutionFinish() {
         Thread thread = Thread.currentThread();
+        Test threadTest;
+        try {
+            threadTest = setCosengContext();
+        } catch (CosengException e) {
+            throw new RuntimeException(e);
+        }
         log.debug(
                 "TestNG Executor AFTER; thread [{}], test [{}], testHashCode [{}], parallelMode [{}], isOneWebDriver [{}]",
-                thread.getId(), test.getName(), test.hashCode(), parallelMode, isOneWebDriver);
+                thread.getId(), threadTest.getName(), threadTest.hashCode(), parallelMode,
+                isOneWebDriver);
         try {
-            notifyIntegrators(TriggerOn.EXECUTIONFINISH);
+            notifyIntegrators(TriggerOn.EXECUTIONFINISH, threadTest);
         } catch (CosengException e) {
             throw new RuntimeException(e);
         }
         if (isOneWebDriver) {
             try {
-                webDriverAction(WebDriverAction.STOP);
+                webDriverAction(WebDriverAction.STOP, threadTest);
             } catch (CosengException e) {
-                test.setIsFailed(true);
+                threadTest.setIsFailed(true);
                 throw new RuntimeException(e);
             }
         }
+        if (webDriverPool != null) {
+            webDriverPool.drain();
+        }
     }
 
     /*
@@ -198,28 +228,34 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      * @see org.testng.IExecutionListener#onExecutionStart()
      */
     @Override
-    public synchronized void onExecutionStart() {
+    public void onExecutionStart() {
         /*
          * Don't use getXmlSuites().size() - it doesn't count the recursively
          * occurring XmlSuite with <test>
          */
-        xmlSuiteCount = test.getTestSuiteCount();
-
+        Test threadTest;
         try {
-            setCosengContext();
-            notifyIntegrators(TriggerOn.EXECUTIONSTART);
+            threadTest = setCosengContext();
+            synchronized (this) {
+                xmlSuiteCount = threadTest.getTestSuiteCount();
+            }
+            notifyIntegrators(TriggerOn.EXECUTIONSTART, threadTest);
         } catch (CosengException e) {
             throw new RuntimeException(e);
         }
         log.debug(
                 "TestNG Executor BEFORE; thread [{}], test [{}], testHashCode [{}], parallelMode [{}], isOneWebDriver [{}], xmlSuiteCount [{}]",
-                Thread.currentThread().getId(), test.getName(), test.hashCode(), parallelMode,
-                isOneWebDriver, xmlSuiteCount);
+                Thread.currentThread().getId(), threadTest.getName(), threadTest.hashCode(),
+                parallelMode, isOneWebDriver, xmlSuiteCount);
+        if (webDriverPool != null && threadTest.isWebDriverPoolWarm()) {
+            /* Background start; one per concurrent suite thread */
+            webDriverPool.warm(threadTest.getWebDriverConcurrency());
+        }
         if (isOneWebDriver) {
             try {
-                webDriverAction(WebDriverAction.START);
+                webDriverAction(WebDriverAction.START, threadTest);
             } catch (CosengException e) {
-                test.setIsFailed(true);
+                threadTest.setIsFailed(true);
                 throw new RuntimeException(e);
             }
         }
@@ -233,22 +269,27 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      */
     /* <ISuiteListener> */
     @Override
-    public synchronized void onFinish(ISuite arg0) {
+    public void onFinish(ISuite arg0) {
+        Test threadTest;
         try {
-            setCosengContext();
-            notifyIntegrators(TriggerOn.SUITEFINISH);
+            threadTest = setCosengContext();
+            notifyIntegrators(TriggerOn.SUITEFINISH, threadTest);
         } catch (CosengException e) {
             throw new RuntimeException(e);
         }
+        int suiteCount;
+        synchronized (this) {
+            suiteCount = xmlSuiteCount;
+        }
         log.debug(
                 "Suite AFTER; suite [{}], thread [{}], test [{}], testHashCode [{}], parallelMode [{}], xmlSuiteCount [{}], isOneWebDriver [{}]",
-                arg0.getName(), Thread.currentThread().getId(), test.getName(), test.hashCode(),
-                parallelMode, xmlSuiteCount, isOneWebDriver);
-        if (!isOneWebDriver && ParallelMode.NONE.equals(parallelMode) && xmlSuiteCount >= 0) {
+                arg0.getName(), Thread.currentThread().getId(), threadTest.getName(),
+                threadTest.hashCode(), parallelMode, suiteCount, isOneWebDriver);
+        if (!isOneWebDriver && ParallelMode.NONE.equals(parallelMode) && suiteCount >= 0) {
             try {
-                webDriverAction(WebDriverAction.STOP);
+                webDriverAction(WebDriverAction.STOP, threadTest);
             } catch (CosengException e) {
-                test.setIsFailed(true);
+                threadTest.setIsFailed(true);
                 throw new RuntimeException(e);
             }
         }
@@ -260,7 +301,7 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      * @see org.testng.ISuiteListener#onStart(org.testng.ISuite)
      */
     @Override
-    public synchronized void onStart(ISuite arg0) {
+    public void onStart(ISuite arg0) {
         /*
          * Get the current Suite XML parallel mode; likely different from any
          * previous suite execution.
@@ -272,24 +313,28 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
          * the suite. So, track the suite driver start; don't start again if
          * already been through the suite before/after cycle.
          */
-        xmlSuiteCount--;
+        int suiteCount;
+        synchronized (this) {
+            suiteCount = --xmlSuiteCount;
+        }
 
+        Test threadTest;
         try {
-            setCosengContext();
-            test.setTestNgSuite(arg0);
-            notifyIntegrators(TriggerOn.SUITESTART);
+            threadTest = setCosengContext();
+            threadTest.setTestNgSuite(arg0);
+            notifyIntegrators(TriggerOn.SUITESTART, threadTest);
         } catch (CosengException e) {
             throw new RuntimeException(e);
         }
         log.debug(
                 "Suite BEFORE; suite [{}], thread [{}], test [{}], testHashCode [{}], parallelMode [{}], xmlSuiteCount [{}], isOneWebDriver [{}]",
-                arg0.getName(), Thread.currentThread().getId(), test.getName(), test.hashCode(),
-                parallelMode, xmlSuiteCount, isOneWebDriver);
-        if (!isOneWebDriver && ParallelMode.NONE.equals(parallelMode) && xmlSuiteCount >= 0) {
+                arg0.getName(), Thread.currentThread().getId(), threadTest.getName(),
+                threadTest.hashCode(), parallelMode, suiteCount, isOneWebDriver);
+        if (!isOneWebDriver && ParallelMode.NONE.equals(parallelMode) && suiteCount >= 0) {
             try {
-                webDriverAction(WebDriverAction.START);
+                webDriverAction(WebDriverAction.START, threadTest);
             } catch (CosengException e) {
-                test.setIsFailed(true);
+                threadTest.setIsFailed(true);
                 throw new RuntimeException(e);
             }
         }
@@ -303,22 +348,23 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      */
     /* <ITestListener> */
     @Override
-    public synchronized void onFinish(ITestContext arg0) {
+    public void onFinish(ITestContext arg0) {
+        Test threadTest;
         try {
-            setCosengContext();
-            notifyIntegrators(TriggerOn.TESTFINISH);
+            threadTest = setCosengContext();
+            notifyIntegrators(TriggerOn.TESTFINISH, threadTest);
         } catch (CosengException e) {
             throw new RuntimeException(e);
         }
         log.debug(
                 "Test AFTER; thread [{}], test [{}], testHashCode [{}], parallelMode [{}], isOneWebDriver [{}]",
-                Thread.currentThread().getId(), test.getName(), test.hashCode(), parallelMode,
-                isOneWebDriver);
+                Thread.currentThread().getId(), threadTest.getName(), threadTest.hashCode(),
+                parallelMode, isOneWebDriver);
         if (!isOneWebDriver && ParallelMode.TESTS.equals(parallelMode)) {
             try {
-                webDriverAction(WebDriverAction.STOP);
+                webDriverAction(WebDriverAction.STOP, threadTest);
             } catch (CosengException e) {
-                test.setIsFailed(true);
+                threadTest.setIsFailed(true);
                 throw new RuntimeException(e);
             }
         }
@@ -331,24 +377,25 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      */
     /* <ITestListener> */
     @Override
-    public synchronized void onStart(ITestContext arg0) {
+    public void onStart(ITestContext arg0) {
+        Test threadTest;
         try {
-            setCosengContext();
-            test.setTestNgTest(arg0);
-            notifyIntegrators(TriggerOn.TESTSTART);
+            threadTest = setCosengContext();
+            threadTest.setTestNgTest(arg0);
+            notifyIntegrators(TriggerOn.TESTSTART, threadTest);
         } catch (CosengException e) {
             throw new RuntimeException(e);
         }
         log.debug(
                 "Test BEFORE; thread [{}], test [{}], testHashCode [{}], parallelMode [{}], isOneWebDriver [{}]",
-                Thread.currentThread().getId(), test.getName(), test.hashCode(), parallelMode,
-                isOneWebDriver);
+                Thread.currentThread().getId(), threadTest.getName(), threadTest.hashCode(),
+                parallelMode, isOneWebDriver);
 
         if (!isOneWebDriver && ParallelMode.TESTS.equals(parallelMode)) {
             try {
-                webDriverAction(WebDriverAction.START);
+                webDriverAction(WebDriverAction.START, threadTest);
             } catch (CosengException e) {
-                test.setIsFailed(true);
+                threadTest.setIsFailed(true);
                 throw new RuntimeException(e);
             }
         }
@@ -361,7 +408,7 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      * testng.ITestResult)
      */
     @Override
-    public synchronized void onTestFailedButWithinSuccessPercentage(ITestResult arg0) {
+    public void onTestFailedButWithinSuccessPercentage(ITestResult arg0) {
         // TODO Auto-generated method stub
 
     }
@@ -372,7 +419,7 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      * @see org.testng.ITestListener#onTestFailure(org.testng.ITestResult)
      */
     @Override
-    public synchronized void onTestFailure(ITestResult arg0) {
+    public void onTestFailure(ITestResult arg0) {
         // TODO Auto-generated method stub
 
     }
@@ -383,7 +430,7 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      * @see org.testng.ITestListener#onTestSkipped(org.testng.ITestResult)
      */
     @Override
-    public synchronized void onTestSkipped(ITestResult arg0) {
+    public void onTestSkipped(ITestResult arg0) {
         // TODO Auto-generated method stub
 
     }
@@ -394,7 +441,7 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      * @see org.testng.ITestListener#onTestStart(org.testng.ITestResult)
      */
     @Override
-    public synchronized void onTestStart(ITestResult arg0) {
+    public void onTestStart(ITestResult arg0) {
 
     }
 
@@ -404,7 +451,7 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      * @see org.testng.ITestListener#onTestSuccess(org.testng.ITestResult)
      */
     @Override
-    public synchronized void onTestSuccess(ITestResult arg0) {
+    public void onTestSuccess(ITestResult arg0) {
         // TODO Auto-generated method stub
 
     }
@@ -417,22 +464,23 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      */
     /* <IClassListener> */
     @Override
-    public synchronized void onAfterClass(ITestClass arg0) {
+    public void onAfterClass(ITestClass arg0) {
+        Test threadTest;
         try {
-            setCosengContext();
-            notifyIntegrators(TriggerOn.CLASSFINISH);
+            threadTest = setCosengContext();
+            notifyIntegrators(TriggerOn.CLASSFINISH, threadTest);
         } catch (CosengException e) {
             throw new RuntimeException(e);
         }
         log.debug(
                 "Class AFTER; class [{}], thread [{}], test [{}], testHashCode [{}], parallelMode [{}], isOneWebDriver [{}]",
-                arg0.getName(), Thread.currentThread().getId(), test.getName(), test.hashCode(),
-                parallelMode, isOneWebDriver);
+                arg0.getName(), Thread.currentThread().getId(), threadTest.getName(),
+                threadTest.hashCode(), parallelMode, isOneWebDriver);
         if (!isOneWebDriver && ParallelMode.CLASSES.equals(parallelMode)) {
             try {
-                webDriverAction(WebDriverAction.STOP);
+                webDriverAction(WebDriverAction.STOP, threadTest);
             } catch (CosengException e) {
-                test.setIsFailed(true);
+                threadTest.setIsFailed(true);
                 throw new RuntimeException(e);
             }
         }
@@ -444,23 +492,24 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      * @see org.testng.IClassListener#onBeforeClass(org.testng.ITestClass)
      */
     @Override
-    public synchronized void onBeforeClass(ITestClass arg0) {
+    public void onBeforeClass(ITestClass arg0) {
+        Test threadTest;
         try {
-            setCosengContext();
-            test.setTestNgClass(arg0);
-            notifyIntegrators(TriggerOn.CLASSSTART);
+            threadTest = setCosengContext();
+            threadTest.setTestNgClass(arg0);
+            notifyIntegrators(TriggerOn.CLASSSTART, threadTest);
         } catch (CosengException e) {
             throw new RuntimeException(e);
         }
         log.debug(
                 "Class BEFORE; class [{}], thread [{}], test [{}], testHashCode [{}], parallelMode [{}], isOneWebDriver [{}]",
-                arg0.getName(), Thread.currentThread().getId(), test.getName(), test.hashCode(),
-                parallelMode, isOneWebDriver);
+                arg0.getName(), Thread.currentThread().getId(), threadTest.getName(),
+                threadTest.hashCode(), parallelMode, isOneWebDriver);
         if (!isOneWebDriver && ParallelMode.CLASSES.equals(parallelMode)) {
             try {
-                webDriverAction(WebDriverAction.START);
+                webDriverAction(WebDriverAction.START, threadTest);
             } catch (CosengException e) {
-                test.setIsFailed(true);
+                threadTest.setIsFailed(true);
                 throw new RuntimeException(e);
             }
         }
@@ -475,7 +524,7 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      */
     /* <IMethodListener> */
     @Override
-    public synchronized void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
         afterInvocation(method, testResult, null);
     }
 
@@ -486,7 +535,7 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      * IInvokedMethod, org.testng.ITestResult)
      */
     @Override
-    public synchronized void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
         beforeInvocation(method, testResult, null);
     }
     /* </IMethodListener> */
@@ -499,11 +548,12 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      */
     /* <IMethodListener2> */
     @Override
-    public synchronized void afterInvocation(IInvokedMethod method, ITestResult testResult,
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult,
             ITestContext context) {
+        Test threadTest;
         try {
-            setCosengContext();
-            notifyIntegrators(TriggerOn.METHODFINISH);
+            threadTest = setCosengContext();
+            notifyIntegrators(TriggerOn.METHODFINISH, threadTest);
         } catch (CosengException e) {
             throw new RuntimeException(e);
         }
@@ -511,12 +561,13 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
                 "Method AFTER; class [{}], method [{}], thread [{}], test [{}], testHashCode [{}], parallelMode [{}], isOneWebDriver [{}]",
                 method.getTestMethod().getRealClass().getName(),
                 method.getTestMethod().getMethodName(), Thread.currentThread().getId(),
-                test.getName(), test.hashCode(), parallelMode, isOneWebDriver);
+                threadTest.getName(), threadTest.hashCode(), parallelMode, isOneWebDriver);
         if (!isOneWebDriver && ParallelMode.METHODS.equals(parallelMode)) {
             try {
-                webDriverAction(WebDriverAction.STOP);
+                webDriverAction(WebDriverAction.STOP, threadTest,
+                        ITestResult.FAILURE == testResult.getStatus());
             } catch (CosengException e) {
-                test.setIsFailed(true);
+                threadTest.setIsFailed(true);
                 throw new RuntimeException(e);
             }
         }
@@ -529,12 +580,13 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      * IInvokedMethod, org.testng.ITestResult, org.testng.ITestContext)
      */
     @Override
-    public synchronized void beforeInvocation(IInvokedMethod method, ITestResult testResult,
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult,
             ITestContext context) {
+        Test threadTest;
         try {
-            setCosengContext();
-            test.setTestNgMethod(method);
-            notifyIntegrators(TriggerOn.METHODSTART);
+            threadTest = setCosengContext();
+            threadTest.setTestNgMethod(method);
+            notifyIntegrators(TriggerOn.METHODSTART, threadTest);
         } catch (CosengException e) {
             throw new RuntimeException(e);
         }
@@ -542,12 +594,12 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
                 "Method BEFORE; class [{}], method [{}], thread [{}], test [{}], testHashCode [{}], parallelMode [{}], isOneWebDriver [{}]",
                 method.getTestMethod().getRealClass().getName(),
                 method.getTestMethod().getMethodName(), Thread.currentThread().getId(),
-                test.getName(), test.hashCode(), parallelMode, isOneWebDriver);
+                threadTest.getName(), threadTest.hashCode(), parallelMode, isOneWebDriver);
         if (!isOneWebDriver && ParallelMode.METHODS.equals(parallelMode)) {
             try {
-                webDriverAction(WebDriverAction.START);
+                webDriverAction(WebDriverAction.START, threadTest);
             } catch (CosengException e) {
-                test.setIsFailed(true);
+                threadTest.setIsFailed(true);
                 throw new RuntimeException(e);
             }
         }
@@ -560,46 +612,88 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      *
      * @param action
      *            the action
+     * @param threadTest
+     *            the current thread's test
+     * @throws CosengException
+     *             the coseng exception
+     * @see com.sios.stc.coseng.run.CosengListener#webDriverAction(WebDriverAction,
+     *      Test, boolean)
+     * @since 2.0
+     * @version.coseng
+     */
+    private void webDriverAction(WebDriverAction action, Test threadTest) throws CosengException {
+        webDriverAction(action, threadTest, false);
+    }
+
+    /**
+     * Web driver action to start or stop the web driver based on the before and
+     * after state of the TestNG listeners. Not made under the listener lock;
+     * each TestNG worker thread starts and stops its own web driver so browser
+     * launches of parallel threads proceed concurrently. If pooling, the web
+     * driver is leased from and released to the pool rather than started and
+     * stopped.
+     *
+     * @param action
+     *            the action
+     * @param threadTest
+     *            the current thread's test
+     * @param isError
+     *            true if the web driver is stopped after an error; a pooled
+     *            web driver is quit rather than reused
      * @throws CosengException
      *             the coseng exception
      * @see com.sios.stc.coseng.run.WebDriverLifecycle#startWebDriver(Test)
-     * @see com.sios.stc.coseng.run.WebDriverLifecycle#stopWebDriver(Test)
+     * @see com.sios.stc.coseng.run.WebDriverLifecycle#stopWebDriver(WebDriver,
+     *      Object)
+     * @see com.sios.stc.coseng.run.WebDriverPool
      * @see com.sios.stc.coseng.run.CosengRunner#getWebDriver()
      * @see com.sios.stc.coseng.run.CosengRunner#getWebDriverService()
-     * @since 2.0
+     * @since 3.0
      * @version.coseng
      */
-    private synchronized void webDriverAction(WebDriverAction action) throws CosengException {
+    private void webDriverAction(WebDriverAction action, Test threadTest, boolean isError)
+            throws CosengException {
         Thread thread = Thread.currentThread();
         log.debug("Web driver action [{}], thread [{}]", action, thread.getId());
         if (WebDriverAction.START.equals(action)) {
-            startWebDriver(test);
-            CosengRunner.incrementStartedWebDriverCount();
+            if (webDriverPool != null) {
+                bindWebDriver(webDriverPool.lease(threadTest));
+            } else {
+                startWebDriver(threadTest);
+            }
             log.debug("Started Web driver [{}], thread [{}]",
                     CosengRunner.getWebDriver(thread).hashCode(), thread.getId());
         } else if (WebDriverAction.STOP.equals(action)) {
             if (CosengRunner.hasWebDriver(thread)) {
                 WebDriver webDriver = CosengRunner.getWebDriver(thread);
                 Object webDriverService = CosengRunner.getWebDriverService(thread);
-                stopWebDriver(webDriver, webDriverService);
-                CosengRunner.incrementStoppedWebDriverCount();
-                log.debug("Stopped web driver [{}], thread [{}]",
-                        CosengRunner.getWebDriver(thread).hashCode(), thread.getId());
+                CosengRunner.clearSeleniumTools(thread);
+                if (webDriverPool != null) {
+                    webDriverPool.release(webDriver, isError);
+                } else {
+                    WebDriverTeardown.submit(webDriver, webDriverService);
+                }
+                log.debug("Stopped web driver [{}], thread [{}]", webDriver.hashCode(),
+                        thread.getId());
             }
         }
     }
 
     /**
-     * Notify integrators
+     * Notify integrators. Remains synchronized as integrators are not required
+     * to be thread safe.
      *
      * @param trigger
      *            the trigger
+     * @param test
+     *            the current thread's test
      * @throws CosengException
      *             the coseng exception
      * @since 3.0
      * @version.coseng
      */
-    private synchronized void notifyIntegrators(TriggerOn trigger) throws CosengException {
+    private synchronized void notifyIntegrators(TriggerOn trigger, Test test)
+            throws CosengException {
         for (Integrator i : GetIntegrators.wired()) {
             switch (trigger) {
                 case EXECUTIONSTART:
@@ -655,7 +749,7 @@ public class CosengListener extends WebDriverLifecycle implements IExecutionList
      * java.lang.String)
      */
     @Override
-    public synchronized void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites,
+    public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites,
             String outputDirectory) {
         // nothing for now
     }
@@ -16,22 +16,26 @@
  */
 package com.sios.stc.coseng.run;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 import java.util.logging.Level;
 
 import org.apache.commons.io.FileUtils;
@@ -46,6 +50,7 @@ import org.openqa.selenium.Keys;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.remote.RemoteWebDriver;
@@ -63,6 +68,7 @@ import com.sios.stc.coseng.run.Browsers.Browser;
 import com.sios.stc.coseng.run.Matcher.MatchBy;
 import com.sios.stc.coseng.util.Http;
 import com.sios.stc.coseng.util.Resource;
+import com.sios.stc.coseng.util.UrlTiming;
 
 /**
  * The Class CosengRunner. This is the class that each TestNG class under test
@@ -86,34 +92,68 @@ public class CosengRunner {
     private static final String                         DIR_SCREENSHOTS        =
             "coseng-screenshots";
     private static final String                         DIR_ADDITIONAL_REPORTS = "coseng-reports";
-    private static int                                  startedWebDriver       = 0;
-    private static int                                  stoppedWebDriver       = 0;
-    private static Map<Thread, Test>                    threadTest             =
-            new HashMap<Thread, Test>();
-    private static Map<Thread, WebDriver>               threadWebDriver        =
-            new HashMap<Thread, WebDriver>();
-    private static Map<Thread, Object>                  threadWebDriverService =
-            new HashMap<Thread, Object>();
-    private static Map<Thread, WebDriverWait>           threadWebDriverWait    =
-            new HashMap<Thread, WebDriverWait>();
-    private static Map<Thread, Actions>                 threadActions          =
-            new HashMap<Thread, Actions>();
-    private static Map<Thread, JavascriptExecutor>      threadJsExecutor       =
-            new HashMap<Thread, JavascriptExecutor>();
-    private static Map<Thread, NgWebDriver>             threadNgWebDriver      =
-            new HashMap<Thread, NgWebDriver>();
+    private static final long                           WAIT_POLL_MILLIS       = 100L;
+    private static final AtomicInteger                  startedWebDriver       =
+            new AtomicInteger();
+    private static final AtomicInteger                  stoppedWebDriver       =
+            new AtomicInteger();
+    /*
+     * One context per thread; ConcurrentHashMap reads do not lock so parallel
+     * test threads do not contend when resolving their Selenium tools.
+     */
+    private static final Map<Thread, CosengContext>     threadContext          =
+            new ConcurrentHashMap<Thread, CosengContext>();
     private static final org.apache.logging.log4j.Level defaultLogLevel        =
             org.apache.logging.log4j.Level.INFO;
+    /*
+     * [url, tag] of each element with an 'href' or 'src'; 'href' first as
+     * getAttribute() would, resolved to an absolute URL by the browser
+     */
+    private static final String                         HARVEST_URLS_JS        =
+            "var found = [], elements = document.querySelectorAll('[href],[src]'),"
+                    + " a = document.createElement('a');"
+                    + "function url(e, name) { var v = e[name];"
+                    + " if (typeof v !== 'string') { v = e.getAttribute(name); }"
+                    + " if (v) { a.href = v; v = a.href; }"
+                    + " return v ? v : null; }"
+                    + "for (var i = 0; i < elements.length; i++) { var e = elements[i];"
+                    + " var u = url(e, 'href'); if (u === null) { u = url(e, 'src'); }"
+                    + " found.push([u, e.tagName.toLowerCase()]); }"
+                    + "return found;";
+    /* Milliseconds spent in explicit pauses by test name */
+    private static final Map<String, AtomicLong>        pauseMillis            =
+            new ConcurrentHashMap<String, AtomicLong>();
+    /* Angular2 and idle readiness waits made, and skipped, by test name */
+    private static final Map<String, AtomicLong>        angularWaits           =
+            new ConcurrentHashMap<String, AtomicLong>();
+    private static final Map<String, AtomicLong>        skippedAngularWaits    =
+            new ConcurrentHashMap<String, AtomicLong>();
+    private static final Map<String, AtomicLong>        idleWaits              =
+            new ConcurrentHashMap<String, AtomicLong>();
+    private static final Map<String, AtomicLong>        skippedIdleWaits       =
+            new ConcurrentHashMap<String, AtomicLong>();
+    /* System.nanoTime() by which all tests must complete; null if unbounded */
+    private static volatile Long                        executionDeadlineNanos = null;
 
     /* Global collection of found URLs */
-    private static Map<String, String>      allUrlsTag    = new HashMap<String, String>();
-    private static Map<String, Set<String>> allUrlsRoutes = new HashMap<String, Set<String>>();
+    private static final UrlIndex allFoundUrls = new UrlIndex();
     /*
      * Non static so each extended instance is self-contained for
      * finding/saving/checking URLs
      */
-    private Map<String, String>      urlsTag    = new HashMap<String, String>();
-    private Map<String, Set<String>> urlsRoutes = new HashMap<String, Set<String>>();
+    private final UrlIndex foundUrls = new UrlIndex();
+    /* Load time in milliseconds of each crawled page */
+    private static final ConcurrentHashMap<String, Long> allCrawledPages =
+            new ConcurrentHashMap<String, Long>();
+    private final ConcurrentHashMap<String, Long>        crawledPages    =
+            new ConcurrentHashMap<String, Long>();
+
+    /*
+     * Accessibility checks started by findUrls, by URL; dropped once
+     * collected so a later check of the URL probes again
+     */
+    private final Map<String, CompletableFuture<Boolean>> urlChecks =
+            new ConcurrentHashMap<String, CompletableFuture<Boolean>>();
 
     private static int assertFailureCount = 0;
 
@@ -130,10 +170,10 @@ public class CosengRunner {
      * @since 2.1
      * @version.coseng
      */
-    protected static synchronized void setSeleniumTools(WebDriver webDriver,
-            Object webDriverService) throws CosengException {
-        Thread thread = Thread.currentThread();
-        Test test = getThreadTest(thread);
+    protected static void setSeleniumTools(WebDriver webDriver, Object webDriverService)
+            throws CosengException {
+        CosengContext context = getContext();
+        Test test = (context == null ? null : context.getTest());
         if (test != null && webDriver != null) {
             ((RemoteWebDriver) webDriver).setLogLevel(Level.FINE);
             webDriver.manage().timeouts().implicitlyWait(test.getWebDriverTimeoutSeconds(),
@@ -145,18 +185,31 @@ public class CosengRunner {
         } else {
             throw new CosengException("Error creating selenium tools");
         }
-        threadWebDriver.put(thread, webDriver);
-        threadWebDriverService.put(thread, webDriverService);
-        threadWebDriverWait.put(thread,
-                new WebDriverWait(webDriver, test.getWebDriverWaitTimeoutSeconds()));
-        threadActions.put(thread, new Actions(webDriver));
-        threadJsExecutor.put(thread, (JavascriptExecutor) webDriver);
-        threadNgWebDriver.put(thread, new NgWebDriver((JavascriptExecutor) webDriver));
+        context.setSeleniumTools(webDriver, webDriverService,
+                test.getWebDriverWaitTimeoutSeconds());
+    }
+
+    /**
+     * Clear the selenium tools for the thread. Called once the thread's web
+     * driver has been stopped so that it, and its derived objects, are no
+     * longer referenced.
+     *
+     * @param thread
+     *            the thread
+     * @see com.sios.stc.coseng.run.CosengListener
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void clearSeleniumTools(Thread thread) {
+        CosengContext context = getContext(thread);
+        if (context != null) {
+            context.clearSeleniumTools();
+        }
     }
 
     /**
      * Instantiates a new coseng runner.
-     * 
+     *
      * @since 2.0
      * @version.coseng
      */
@@ -169,6 +222,34 @@ public class CosengRunner {
          */
     }
 
+    /**
+     * Gets the context of the current thread.
+     *
+     * @return the context; may be null
+     * @see com.sios.stc.coseng.run.CosengRunner#getContext(Thread)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static CosengContext getContext() {
+        return getContext(null);
+    }
+
+    /**
+     * Gets the context of a given thread.
+     *
+     * @param thread
+     *            the thread; if null the current thread
+     * @return the context; may be null
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static CosengContext getContext(Thread thread) {
+        if (thread == null) {
+            thread = Thread.currentThread();
+        }
+        return threadContext.get(thread);
+    }
+
     /**
      * Gets the test associated for a given thread.
      *
@@ -178,9 +259,10 @@ public class CosengRunner {
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized Test getThreadTest(Thread thread) {
-        if (threadTest.containsKey(thread)) {
-            return threadTest.get(thread);
+    protected static Test getThreadTest(Thread thread) {
+        CosengContext context = getContext(thread);
+        if (context != null) {
+            return context.getTest();
         }
         return null;
     }
@@ -195,9 +277,40 @@ public class CosengRunner {
      * @since 2.1
      * @version.coseng
      */
-    protected static synchronized void addThreadTest(Thread thread, Test test) {
+    protected static void addThreadTest(Thread thread, Test test) {
         if (thread != null && test != null) {
-            threadTest.put(thread, test);
+            CosengContext context = threadContext.get(thread);
+            if (context == null) {
+                context = new CosengContext(thread);
+                CosengContext existing = threadContext.putIfAbsent(thread, context);
+                if (existing != null) {
+                    context = existing;
+                }
+            }
+            context.setTest(test);
+        }
+    }
+
+    /**
+     * Removes the thread test association of every thread running the named
+     * test. Called once the test has completed so the contexts of its, now
+     * finished, TestNG worker threads are released.
+     *
+     * @param name
+     *            the test name
+     * @see com.sios.stc.coseng.run.Concurrent#run()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void removeThreadTests(String name) {
+        if (name != null) {
+            Iterator<CosengContext> iterator = threadContext.values().iterator();
+            while (iterator.hasNext()) {
+                Test test = iterator.next().getTest();
+                if (test != null && name.equals(test.getName())) {
+                    iterator.remove();
+                }
+            }
         }
     }
 
@@ -208,7 +321,7 @@ public class CosengRunner {
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized Test getTest() {
+    protected static Test getTest() {
         return getTest(null);
     }
 
@@ -221,7 +334,7 @@ public class CosengRunner {
      * @since 2.1
      * @version.coseng
      */
-    protected static synchronized Test getTest(Thread thread) {
+    protected static Test getTest(Thread thread) {
         if (thread == null) {
             thread = Thread.currentThread();
         }
@@ -236,7 +349,7 @@ public class CosengRunner {
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized boolean hasWebDriver() {
+    protected static boolean hasWebDriver() {
         return hasWebDriver(null);
     }
 
@@ -249,25 +362,25 @@ public class CosengRunner {
      * @since 2.1
      * @version.coseng
      */
-    protected static synchronized boolean hasWebDriver(Thread thread) {
-        if (thread == null) {
-            thread = Thread.currentThread();
-        }
-        if (threadWebDriver.containsKey(thread) && threadWebDriver.get(thread) != null) {
+    protected static boolean hasWebDriver(Thread thread) {
+        CosengContext context = getContext(thread);
+        if (context != null && context.hasWebDriver()) {
             return true;
         }
         return false;
     }
 
     /**
-     * Gets the started web driver.
+     * Gets the started web driver. Acting on the page through it bypasses the
+     * page activity; mark the page changed after.
      *
      * @return the web driver
      * @see com.sios.stc.coseng.run.CosengRunner#getWebDriver(Thread)
+     * @see com.sios.stc.coseng.run.CosengRunner#pageChanged()
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized WebDriver getWebDriver() {
+    protected static WebDriver getWebDriver() {
         return getWebDriver(null);
     }
 
@@ -280,11 +393,9 @@ public class CosengRunner {
      * @since 2.1
      * @version.coseng
      */
-    protected static synchronized WebDriver getWebDriver(Thread thread) {
-        if (thread == null) {
-            thread = Thread.currentThread();
-        }
-        return threadWebDriver.get(thread);
+    protected static WebDriver getWebDriver(Thread thread) {
+        CosengContext context = getContext(thread);
+        return (context == null ? null : context.getWebDriver());
     }
 
     /**
@@ -294,7 +405,7 @@ public class CosengRunner {
      * @since 3.0
      * @version.coseng
      */
-    protected static synchronized String getBrowserVersion() {
+    protected static String getBrowserVersion() {
         WebDriver wd = getWebDriver();
         Capabilities caps = ((RemoteWebDriver) wd).getCapabilities();
         return caps.getVersion();
@@ -307,7 +418,7 @@ public class CosengRunner {
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized Object getWebDriverService() {
+    protected static Object getWebDriverService() {
         return getWebDriverService(null);
     }
 
@@ -320,11 +431,9 @@ public class CosengRunner {
      * @since 2.1
      * @version.coseng
      */
-    protected static synchronized Object getWebDriverService(Thread thread) {
-        if (thread == null) {
-            thread = Thread.currentThread();
-        }
-        return threadWebDriverService.get(thread);
+    protected static Object getWebDriverService(Thread thread) {
+        CosengContext context = getContext(thread);
+        return (context == null ? null : context.getWebDriverService());
     }
 
     /**
@@ -334,33 +443,84 @@ public class CosengRunner {
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized WebDriverWait getWebDriverWait() {
-        Thread thread = Thread.currentThread();
-        return threadWebDriverWait.get(thread);
+    protected static WebDriverWait getWebDriverWait() {
+        CosengContext context = getContext();
+        return (context == null ? null : context.getWebDriverWait());
     }
 
     /**
-     * Gets the actions.
+     * Gets the actions. Acting on the page through them bypasses the page
+     * activity; mark the page changed after.
      *
      * @return the actions
+     * @see com.sios.stc.coseng.run.CosengRunner#pageChanged()
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized Actions getActions() {
-        Thread thread = Thread.currentThread();
-        return threadActions.get(thread);
+    protected static Actions getActions() {
+        CosengContext context = getContext();
+        return (context == null ? null : context.getActions());
     }
 
     /**
-     * Gets the javascript executor.
+     * Gets the javascript executor. A script that changes the page bypasses
+     * the page activity; mark the page changed after.
      *
      * @return the javascript executor
+     * @see com.sios.stc.coseng.run.CosengRunner#pageChanged()
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized JavascriptExecutor getJavascriptExecutor() {
-        Thread thread = Thread.currentThread();
-        return threadJsExecutor.get(thread);
+    protected static JavascriptExecutor getJavascriptExecutor() {
+        CosengContext context = getContext();
+        return (context == null ? null : context.getJavascriptExecutor());
+    }
+
+    /**
+     * Mark the current thread's page changed. The next wait for Angular2
+     * requests or for the page to be idle will be made rather than skipped.
+     * webDriverGet, webDriverNavigateTo, sendKeyboard and the actions of COSENG
+     * web elements mark the page changed. Call after each navigation or action
+     * made through raw Selenium; the web driver, actions or javascript executor
+     * of the getters, or a raw web element. Getting them does not mark the
+     * page changed.
+     *
+     * @see com.sios.stc.coseng.run.PageActivity
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void pageChanged() {
+        CosengContext context = getContext();
+        PageActivity pageActivity = (context == null ? null : context.getPageActivity());
+        if (pageActivity != null) {
+            pageActivity.changed();
+        }
+    }
+
+    /**
+     * Wait for the current thread's page to be idle; no fetch or XMLHttpRequest
+     * requests pending and no DOM mutations for the test's idle quiet window.
+     * Waits with one asynchronous script execution, at most the test's web
+     * driver timeout. Made whether or not the test waits for idle before
+     * acting on web elements.
+     *
+     * @return true, if idle; false if not idle within the timeout or no web
+     *         driver
+     * @see com.sios.stc.coseng.run.Test#isWaitForIdle()
+     * @see com.sios.stc.coseng.run.Test#getIdleQuietMillis()
+     * @see com.sios.stc.coseng.run.PageActivity
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static boolean waitForIdle() {
+        CosengContext context = getContext();
+        Test test = (context == null ? null : context.getTest());
+        JavascriptExecutor jsExecutor = (context == null ? null : context.getJavascriptExecutor());
+        PageActivity pageActivity = (context == null ? null : context.getPageActivity());
+        if (test != null && jsExecutor != null && pageActivity != null) {
+            return pageActivity.waitForIdle(test, jsExecutor, true);
+        }
+        return false;
     }
 
     /**
@@ -370,9 +530,9 @@ public class CosengRunner {
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized NgWebDriver getNgWebDriver() {
-        Thread thread = Thread.currentThread();
-        return threadNgWebDriver.get(thread);
+    protected static NgWebDriver getNgWebDriver() {
+        CosengContext context = getContext();
+        return (context == null ? null : context.getNgWebDriver());
     }
 
     /**
@@ -381,8 +541,8 @@ public class CosengRunner {
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized void incrementStartedWebDriverCount() {
-        startedWebDriver++;
+    protected static void incrementStartedWebDriverCount() {
+        startedWebDriver.incrementAndGet();
     }
 
     /**
@@ -392,8 +552,8 @@ public class CosengRunner {
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized int getStartedWebDriverCount() {
-        return startedWebDriver;
+    protected static int getStartedWebDriverCount() {
+        return startedWebDriver.get();
     }
 
     /**
@@ -402,8 +562,8 @@ public class CosengRunner {
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized void incrementStoppedWebDriverCount() {
-        stoppedWebDriver++;
+    protected static void incrementStoppedWebDriverCount() {
+        stoppedWebDriver.incrementAndGet();
     }
 
     /**
@@ -413,8 +573,8 @@ public class CosengRunner {
      * @since 2.0
      * @version.coseng
      */
-    protected static synchronized int getStoppedWebDriverCount() {
-        return stoppedWebDriver;
+    protected static int getStoppedWebDriverCount() {
+        return stoppedWebDriver.get();
     }
 
     /* BEGIN - Convenience methods */
@@ -492,7 +652,9 @@ public class CosengRunner {
     protected void webDriverGet(String url) {
         WebDriver webDriver = getWebDriver();
         if (webDriver != null) {
+            WebDriverPool.visit(webDriver, url);
             webDriver.get(url);
+            pageChanged();
         }
     }
 
@@ -528,7 +690,9 @@ public class CosengRunner {
     protected void webDriverNavigateTo(URL url) {
         WebDriver webDriver = getWebDriver();
         if (webDriver != null) {
+            WebDriverPool.visit(webDriver, url.toString());
             webDriver.navigate().to(url);
+            pageChanged();
         }
     }
 
@@ -542,17 +706,24 @@ public class CosengRunner {
      * @version.coseng
      */
     protected static String getCurrentUrl() {
-        Test test = getTest();
-        WebDriver webDriver = getWebDriver();
-        NgWebDriver ngWebDriver = getNgWebDriver();
-        if (test != null && webDriver != null && ngWebDriver != null) {
+        /* Read only; does not mark the page changed */
+        CosengContext context = getContext();
+        Test test = (context == null ? null : context.getTest());
+        WebDriver webDriver = (context == null ? null : context.getWebDriver());
+        NgWebDriver ngWebDriver = (context == null ? null : context.getNgWebDriver());
+        JavascriptExecutor jsExecutor = (context == null ? null : context.getJavascriptExecutor());
+        PageActivity pageActivity = (context == null ? null : context.getPageActivity());
+        if (test != null && webDriver != null && ngWebDriver != null && pageActivity != null) {
+            if (test.isWaitForIdle()) {
+                pageActivity.waitForIdle(test, jsExecutor, false);
+            }
             if (test.isAngular2App()) {
                 try {
                     /*
                      * Web driver outpaces (both node or grid); nor does using
                      * ngWebDriver.waitForAngular2RequestsToFinish()
                      */
-                    ngWebDriver.waitForAngular2RequestsToFinish();
+                    pageActivity.waitForAngular2(test.getName(), ngWebDriver);
                     pause(350l);
                     return ngWebDriver.getLocationAbsUrl();
                 } catch (Exception e) {
@@ -659,6 +830,7 @@ public class CosengRunner {
                     WebElement overrideLink = webDriver.findElement(By.id("overridelink"));
                     if (overrideLink.isDisplayed()) {
                         actions.moveToElement(overrideLink).click().build().perform();
+                        pageChanged();
                     }
                 }
             } else if (Browser.EDGE.equals(browser)) {
@@ -669,6 +841,7 @@ public class CosengRunner {
                     WebElement overrideLink = webDriver.findElement(By.id("continueLink"));
                     if (overrideLink.isDisplayed()) {
                         actions.moveToElement(overrideLink).click().build().perform();
+                        pageChanged();
                     }
                 }
             }
@@ -790,29 +963,288 @@ public class CosengRunner {
     }
 
     /**
-     * Pause. Default 1000 milliseconds.
+     * Pause. Default 1000 milliseconds. The thread sleeps; it does not hold a
+     * CPU while paused. The pause ends early if the thread is interrupted or
+     * the test execution deadline is reached. Time paused is added to the
+     * test's pause total; prefer {@link #waitUntil(BooleanSupplier, Long)}
+     * waiting on a condition over a fixed pause.
      *
      * @param milliseconds
      *            the milliseconds
+     * @see com.sios.stc.coseng.run.CosengRunner#getPauseMillis(String)
      * @since 2.1
      * @version.coseng
      */
     protected static void pause(Long milliseconds) {
-        Long millis = new Long(1000);
+        long millis = 1000L;
         if (milliseconds != null && milliseconds >= 0) {
             millis = milliseconds;
         }
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        do {
-            // cpu burner
-        } while (stopWatch.getTime() < millis);
+        long start = System.nanoTime();
+        long deadline = deadline(millis);
+        try {
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            Test test = getTest();
+            if (test != null) {
+                addPauseMillis(test.getName(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        }
+    }
+
+    /**
+     * Wait until a condition is true or the timeout is reached. The condition
+     * is checked at once and then every {@value #WAIT_POLL_MILLIS}
+     * milliseconds; the thread sleeps between checks. The wait ends no later
+     * than the test execution deadline.
+     *
+     * @param condition
+     *            the condition; may not be null
+     * @param timeoutMilliseconds
+     *            the timeout milliseconds; if null the web driver wait timeout
+     *            of the test
+     * @return true, if the condition became true before the timeout
+     * @throws CosengException
+     *             the coseng exception; if interrupted while waiting
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static boolean waitUntil(BooleanSupplier condition, Long timeoutMilliseconds)
+            throws CosengException {
+        if (condition == null) {
+            throw new CosengException("Unable to wait; no condition");
+        }
+        long timeout;
+        if (timeoutMilliseconds != null && timeoutMilliseconds >= 0) {
+            timeout = timeoutMilliseconds;
+        } else {
+            Test test = getTest();
+            timeout = TimeUnit.SECONDS.toMillis(
+                    test == null ? 0 : test.getWebDriverWaitTimeoutSeconds());
+        }
+        long deadline = deadline(timeout);
+        try {
+            while (!condition.getAsBoolean()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining,
+                        TimeUnit.MILLISECONDS.toNanos(WAIT_POLL_MILLIS)));
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CosengException("Interrupted waiting for condition", e);
+        }
+    }
+
+    /**
+     * Deadline in System.nanoTime() terms for a timeout from now; no later
+     * than the test execution deadline.
+     *
+     * @param timeoutMilliseconds
+     *            the timeout milliseconds
+     * @return the deadline nanos
+     * @since 3.0
+     * @version.coseng
+     */
+    private static long deadline(long timeoutMilliseconds) {
+        long now = System.nanoTime();
+        long deadline = now + TimeUnit.MILLISECONDS.toNanos(timeoutMilliseconds);
+        Long executionDeadline = executionDeadlineNanos;
+        if (executionDeadline != null && executionDeadline - deadline < 0) {
+            deadline = Math.max(now, executionDeadline);
+        }
+        return deadline;
+    }
+
+    /**
+     * Sets the test execution deadline; the time by which all tests must have
+     * completed. Waits and pauses do not extend beyond it.
+     *
+     * @param minutes
+     *            the minutes from now
+     * @see com.sios.stc.coseng.run.CosengTests#with(String[])
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void setExecutionDeadline(int minutes) {
+        if (minutes > 0) {
+            executionDeadlineNanos = System.nanoTime() + TimeUnit.MINUTES.toNanos(minutes);
+        }
+    }
+
+    /**
+     * Adds to the pause milliseconds of a test.
+     *
+     * @param name
+     *            the test name
+     * @param millis
+     *            the milliseconds paused
+     * @since 3.0
+     * @version.coseng
+     */
+    private static void addPauseMillis(String name, long millis) {
+        addTotal(pauseMillis, name, millis);
+    }
+
+    /**
+     * Gets the total milliseconds a test spent in explicit pauses. Pauses are
+     * fixed sleeps; a large total points to pauses worth replacing with a
+     * condition wait.
+     *
+     * @param name
+     *            the test name
+     * @return the pause milliseconds
+     * @see com.sios.stc.coseng.run.CosengRunner#pause(Long)
+     * @see com.sios.stc.coseng.run.Concurrent#run()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static long getPauseMillis(String name) {
+        return getTotal(pauseMillis, name);
+    }
+
+    /**
+     * Count an Angular2 readiness wait of a test; made or skipped.
+     *
+     * @param name
+     *            the test name
+     * @param skipped
+     *            true, if the wait was skipped
+     * @see com.sios.stc.coseng.run.PageActivity#waitForAngular2(String,
+     *      NgWebDriver)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void countAngularWait(String name, boolean skipped) {
+        addTotal(skipped ? skippedAngularWaits : angularWaits, name, 1);
+    }
+
+    /**
+     * Count an idle readiness wait of a test; made or skipped.
+     *
+     * @param name
+     *            the test name
+     * @param skipped
+     *            true, if the wait was skipped
+     * @see com.sios.stc.coseng.run.PageActivity#waitForIdle(Test,
+     *      JavascriptExecutor, boolean)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void countIdleWait(String name, boolean skipped) {
+        addTotal(skipped ? skippedIdleWaits : idleWaits, name, 1);
+    }
+
+    /**
+     * Adds to a per test total.
+     *
+     * @param totals
+     *            the totals by test name
+     * @param name
+     *            the test name
+     * @param amount
+     *            the amount to add
+     * @since 3.0
+     * @version.coseng
+     */
+    private static void addTotal(Map<String, AtomicLong> totals, String name, long amount) {
+        totals.computeIfAbsent(name, k -> new AtomicLong()).addAndGet(amount);
+    }
+
+    /**
+     * Gets a per test total.
+     *
+     * @param totals
+     *            the totals by test name
+     * @param name
+     *            the test name
+     * @return the total; 0 if none
+     * @since 3.0
+     * @version.coseng
+     */
+    private static long getTotal(Map<String, AtomicLong> totals, String name) {
+        AtomicLong total = (name == null ? null : totals.get(name));
+        return total == null ? 0 : total.get();
+    }
+
+    /**
+     * Gets the Angular2 readiness waits a test made; waits skipped as the page
+     * had not been active since the last wait are not counted.
+     *
+     * @param name
+     *            the test name
+     * @return the angular waits
+     * @see com.sios.stc.coseng.run.CosengRunner#getSkippedAngularWaits(String)
+     * @see com.sios.stc.coseng.run.Concurrent#run()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static long getAngularWaits(String name) {
+        return getTotal(angularWaits, name);
+    }
+
+    /**
+     * Gets the Angular2 readiness waits a test skipped as the page had not been
+     * active since the last wait.
+     *
+     * @param name
+     *            the test name
+     * @return the skipped angular waits
+     * @see com.sios.stc.coseng.run.CosengRunner#getAngularWaits(String)
+     * @see com.sios.stc.coseng.run.Concurrent#run()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static long getSkippedAngularWaits(String name) {
+        return getTotal(skippedAngularWaits, name);
+    }
+
+    /**
+     * Gets the idle readiness waits a test made; waits skipped as the page had
+     * not been active since the last wait are not counted.
+     *
+     * @param name
+     *            the test name
+     * @return the idle waits
+     * @see com.sios.stc.coseng.run.CosengRunner#getSkippedIdleWaits(String)
+     * @see com.sios.stc.coseng.run.Concurrent#run()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static long getIdleWaits(String name) {
+        return getTotal(idleWaits, name);
+    }
+
+    /**
+     * Gets the idle readiness waits a test skipped as the page had not been
+     * active since the last wait.
+     *
+     * @param name
+     *            the test name
+     * @return the skipped idle waits
+     * @see com.sios.stc.coseng.run.CosengRunner#getIdleWaits(String)
+     * @see com.sios.stc.coseng.run.Concurrent#run()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static long getSkippedIdleWaits(String name) {
+        return getTotal(skippedIdleWaits, name);
     }
 
     /**
      * Find urls. Collects current URL Xpath 'href' and 'src' URLs. Adds found
-     * URL to 'all' found URLs. Waits for Angular2 apps to finish requests.
-     * Derived code.
+     * URL to 'all' found URLs. Waits for Angular2 apps to finish requests. The
+     * URLs and tags are harvested with one script execution and the route read
+     * once; if the script fails each element is read in turn. Derived code.
      * 
      * @link http://stackoverflow.com/questions/28163618/fetching-all-href-links-from-the-page-source-using-webdriver
      * @link http://stackoverflow.com/users/2897008/vins
@@ -832,42 +1264,129 @@ public class CosengRunner {
      * @version.coseng
      */
     protected synchronized void findUrls() {
-        Test test = getTest();
-        WebDriver webDriver = getWebDriver();
-        NgWebDriver ngWebDriver = getNgWebDriver();
-        if (test != null && test.isAllowFindUrls() && webDriver != null && ngWebDriver != null) {
-            if (test.isAngular2App()) {
-                ngWebDriver.waitForAngular2RequestsToFinish();
+        /* Read only; does not mark the page changed */
+        CosengContext context = getContext();
+        Test test = (context == null ? null : context.getTest());
+        WebDriver webDriver = (context == null ? null : context.getWebDriver());
+        NgWebDriver ngWebDriver = (context == null ? null : context.getNgWebDriver());
+        JavascriptExecutor jsExecutor = (context == null ? null : context.getJavascriptExecutor());
+        PageActivity pageActivity = (context == null ? null : context.getPageActivity());
+        if (test != null && test.isAllowFindUrls() && webDriver != null && ngWebDriver != null
+                && pageActivity != null) {
+            pageActivity.waitForReady(test, ngWebDriver, jsExecutor);
+            StopWatch stopWatch = new StopWatch();
+            stopWatch.start();
+            String route = getCurrentUrl();
+            Map<String, String> found = harvestUrls(webDriver);
+            recordUrls(test, found, route);
+            stopWatch.stop();
+            log.debug(getLogHeader() + " Found [{}] URLs on route [{}]; elapsed time (ms) [{}]",
+                    found.size(), route, stopWatch.getTime());
+        }
+    }
+
+    /**
+     * Crawl urls. Crawls the test's site breadth first from the base URL, to
+     * the test's crawl depth, within the base URL's origin. The URLs of each
+     * crawled page are recorded as by {@code findUrls()} with the page as
+     * route, and the load time of each page is kept for {@code saveUrls()}.
+     * Crawled pages are loaded by the test's crawl web drivers; the current
+     * web driver is not used. Nothing is crawled unless the test allows find
+     * URLs and has a crawl depth.
+     *
+     * @throws CosengException
+     *             the coseng exception; if the base URL is not valid, a crawl
+     *             web driver could not be started or the crawl is interrupted
+     * @see com.sios.stc.coseng.run.UrlCrawler
+     * @see com.sios.stc.coseng.run.CosengRunner#findUrls()
+     * @see com.sios.stc.coseng.run.CosengRunner#getCrawledPages()
+     * @see com.sios.stc.coseng.run.Test#getCrawlDepth()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void crawlUrls() throws CosengException {
+        final Test test = getTest();
+        if (test != null && test.isAllowFindUrls() && test.getCrawlDepth() > 0) {
+            UrlCrawler crawler =
+                    new UrlCrawler(test, (found, route) -> recordUrls(test, found, route));
+            Map<String, Long> loadMillis = crawler.crawl();
+            crawledPages.putAll(loadMillis);
+            allCrawledPages.putAll(loadMillis);
+        }
+    }
+
+    /**
+     * Record found urls. Records each url, tag and associated route; merged
+     * with those found. If the test prefetches URL checks the URLs are checked
+     * in the background while the test drives the browser.
+     *
+     * @param test
+     *            the test
+     * @param found
+     *            the found urls and tags
+     * @param route
+     *            the route the urls were found on
+     * @see com.sios.stc.coseng.run.CosengRunner#findUrls()
+     * @see com.sios.stc.coseng.run.CosengRunner#crawlUrls()
+     * @since 3.0
+     * @version.coseng
+     */
+    private void recordUrls(Test test, Map<String, String> found, String route) {
+        foundUrls.add(found, route);
+        allFoundUrls.add(found, route);
+        if (test.isPrefetchUrlChecks()) {
+            for (String url : found.keySet()) {
+                urlChecks.computeIfAbsent(url, Http::isAccessibleAsync);
             }
-            List<org.openqa.selenium.WebElement> urlList =
-                    webDriver.findElements(By.xpath("//*[@href or @src]"));
-            for (org.openqa.selenium.WebElement webElement : urlList) {
-                String url = webElement.getAttribute("href");
-                if (url == null) {
-                    url = webElement.getAttribute("src");
-                }
-                if (url != null && !url.isEmpty()) {
-                    /* Record url and tag */
-                    String tag = webElement.getTagName();
-                    if (tag != null && !tag.isEmpty()) {
-                        urlsTag.put(url, webElement.getTagName());
-                    }
-                    /* Record url and associated routes */
-                    Set<String> routes;
-                    String route = getCurrentUrl();
-                    if (!urlsRoutes.containsKey(url)) {
-                        routes = new HashSet<String>();
-                        routes.add(route);
-                        urlsRoutes.put(url, routes);
-                    } else {
-                        routes = urlsRoutes.get(url);
-                        routes.add(route);
+        }
+    }
+
+    /**
+     * Harvest the 'href' or 'src' URL and tag of each element of the current
+     * page. One script execution returns all of them, each URL resolved as the
+     * web driver resolves an 'href' or 'src' attribute. If the script fails, or
+     * the web driver cannot run it, the elements are found and each read in
+     * turn.
+     *
+     * @param webDriver
+     *            the web driver
+     * @return the URLs and their tags in page order
+     * @see com.sios.stc.coseng.run.CosengRunner#findUrls()
+     * @see com.sios.stc.coseng.run.UrlCrawler
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static Map<String, String> harvestUrls(WebDriver webDriver) {
+        Map<String, String> found = new LinkedHashMap<String, String>();
+        try {
+            Object result = ((JavascriptExecutor) webDriver).executeScript(HARVEST_URLS_JS);
+            if (result instanceof List) {
+                for (Object pair : (List<?>) result) {
+                    List<?> urlTag = (List<?>) pair;
+                    String url = (String) urlTag.get(0);
+                    if (url != null && !url.isEmpty() && !found.containsKey(url)) {
+                        found.put(url, (String) urlTag.get(1));
                     }
                 }
+                return found;
             }
-            CosengRunner.allUrlsTag.putAll(urlsTag);
-            CosengRunner.allUrlsRoutes.putAll(urlsRoutes);
+        } catch (WebDriverException | UnsupportedOperationException | ClassCastException
+                | IndexOutOfBoundsException e) {
+            log.debug("Unable to harvest URLs by script; reading each element", e);
+            found.clear();
         }
+        List<org.openqa.selenium.WebElement> urlList =
+                webDriver.findElements(By.xpath("//*[@href or @src]"));
+        for (org.openqa.selenium.WebElement webElement : urlList) {
+            String url = webElement.getAttribute("href");
+            if (url == null) {
+                url = webElement.getAttribute("src");
+            }
+            if (url != null && !url.isEmpty() && !found.containsKey(url)) {
+                found.put(url, webElement.getTagName());
+            }
+        }
+        return found;
     }
 
     /**
@@ -878,8 +1397,8 @@ public class CosengRunner {
      * @since 2.1
      * @version.coseng
      */
-    protected synchronized Set<String> getUrls() {
-        return urlsTag.keySet();
+    protected Set<String> getUrls() {
+        return foundUrls.getUrls();
     }
 
     /**
@@ -890,8 +1409,8 @@ public class CosengRunner {
      * @since 2.1
      * @version.coseng
      */
-    protected static synchronized Set<String> getAllUrls() {
-        return allUrlsTag.keySet();
+    protected static Set<String> getAllUrls() {
+        return allFoundUrls.getUrls();
     }
 
     /**
@@ -904,11 +1423,8 @@ public class CosengRunner {
      * @since 2.1
      * @version.coseng
      */
-    protected synchronized String getUrlTag(String url) {
-        if (urlsTag.containsKey(url)) {
-            return urlsTag.get(url);
-        }
-        return null;
+    protected String getUrlTag(String url) {
+        return foundUrls.getTag(url);
     }
 
     /**
@@ -921,11 +1437,8 @@ public class CosengRunner {
      * @since 2.1
      * @version.coseng
      */
-    protected static synchronized String getAllUrlTag(String url) {
-        if (allUrlsTag.containsKey(url)) {
-            return allUrlsTag.get(url);
-        }
-        return null;
+    protected static String getAllUrlTag(String url) {
+        return allFoundUrls.getTag(url);
     }
 
     /**
@@ -938,12 +1451,8 @@ public class CosengRunner {
      * @since 2.1
      * @version.coseng
      */
-    protected synchronized Set<String> getUrlRoutes(String url) {
-        Set<String> routes = new HashSet<String>();
-        if (urlsRoutes.containsKey(url)) {
-            return urlsRoutes.get(url);
-        }
-        return routes;
+    protected Set<String> getUrlRoutes(String url) {
+        return foundUrls.getRoutes(url);
     }
 
     /**
@@ -956,12 +1465,60 @@ public class CosengRunner {
      * @since 2.1
      * @version.coseng
      */
-    protected static synchronized Set<String> getAllUrlRoutes(String url) {
-        Set<String> routes = new HashSet<String>();
-        if (allUrlsRoutes.containsKey(url)) {
-            return allUrlsRoutes.get(url);
-        }
-        return routes;
+    protected static Set<String> getAllUrlRoutes(String url) {
+        return allFoundUrls.getRoutes(url);
+    }
+
+    /**
+     * Gets the urls found on a route.
+     *
+     * @param route
+     *            the route
+     * @return the urls found on the route
+     * @see com.sios.stc.coseng.run.CosengRunner#findUrls()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Set<String> getUrlsOnRoute(String route) {
+        return foundUrls.getUrlsOnRoute(route);
+    }
+
+    /**
+     * Gets all the urls found on a route.
+     *
+     * @param route
+     *            the route
+     * @return all urls found on the route
+     * @see com.sios.stc.coseng.run.CosengRunner#findUrls()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static Set<String> getAllUrlsOnRoute(String route) {
+        return allFoundUrls.getUrlsOnRoute(route);
+    }
+
+    /**
+     * Gets the crawled pages and the load time in milliseconds of each.
+     *
+     * @return the crawled pages; a live, unmodifiable view
+     * @see com.sios.stc.coseng.run.CosengRunner#crawlUrls()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Map<String, Long> getCrawledPages() {
+        return Collections.unmodifiableMap(crawledPages);
+    }
+
+    /**
+     * Gets all the crawled pages and the load time in milliseconds of each.
+     *
+     * @return all crawled pages; a live, unmodifiable view
+     * @see com.sios.stc.coseng.run.CosengRunner#crawlUrls()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static Map<String, Long> getAllCrawledPages() {
+        return Collections.unmodifiableMap(allCrawledPages);
     }
 
     /**
@@ -989,24 +1546,27 @@ public class CosengRunner {
     }
 
     /**
-     * Save urls.
+     * Save urls. Streams the report rows to a text, a JSON Lines and a CSV
+     * file; no lock is held while the rows are written.
      *
      * @param allUrls
      *            either all urls or specific test's urls
      * @see com.sios.stc.coseng.run.CosengRunner#saveUrls()
      * @see com.sios.stc.coseng.run.CosengRunner#saveAllUrls()
      * @see com.sios.stc.coseng.run.CosengRunner#findUrls()
+     * @see com.sios.stc.coseng.run.UrlReport
      * @since 2.1
      * @version.coseng
      */
-    private synchronized void saveUrls(boolean allUrls) {
+    private void saveUrls(boolean allUrls) {
         Test test = getTest();
         if (test != null && test.isAllowFindUrls()) {
             String logHeader = getLogHeader();
-            String fileName = "foundUrls.txt";
+            String fileName = "foundUrls";
             if (allUrls) {
-                fileName = "allFoundUrls.txt";
+                fileName = "allFoundUrls";
             }
+            UrlReport report = null;
             try {
                 ArrayList<String> dirPaths = new ArrayList<String>();
                 dirPaths.add(test.getReportDirectoryFile().getAbsolutePath());
@@ -1016,30 +1576,40 @@ public class CosengRunner {
                 dirPaths.add(test.getTestNgClass().getName());
                 dirPaths.add(test.getTestNgMethod().getTestMethod().getMethodName());
                 String dirPath = StringUtils.join(dirPaths, File.separator);
-                File file = new File(dirPath + File.separator + fileName);
-                /* Make directory in report directory */
-                File dir = new File(dirPath);
-                if (!dir.exists()) {
-                    dir.mkdirs();
-                }
-                /* Save the report */
-                List<String> report = new ArrayList<String>();
+                /* Save the report; made in report directory */
+                StopWatch stopWatch = new StopWatch();
+                stopWatch.start();
+                report = new UrlReport(new File(dirPath), fileName);
                 Set<String> urls = getUrls();
+                Map<String, Long> pages = getCrawledPages();
                 if (allUrls) {
                     urls = getAllUrls();
+                    pages = getAllCrawledPages();
                 }
+                int rows = 0;
                 for (String url : urls) {
-                    Integer responseCode = Http.getResponseCode(url);
-                    report.add("[" + url + "], tag [" + getAllUrlTag(url) + "], response code ["
-                            + (responseCode == null || responseCode == 0 ? "n/a" : responseCode)
-                            + "]; found in routes " + getAllUrlRoutes(url));
+                    report.addUrl(url, getAllUrlTag(url), Http.getResponseCode(url),
+                            getAllUrlRoutes(url), Http.getTiming(url));
+                    rows++;
+                }
+                for (Map.Entry<String, Long> page : pages.entrySet()) {
+                    report.addPage(page.getKey(), page.getValue());
+                    rows++;
+                }
+                if (Http.hasStatusCache()) {
+                    report.addNote("URL status cache hit [" + Http.getStatusCacheHitCount()
+                            + "], miss [" + Http.getStatusCacheMissCount() + "]");
                 }
-                String longReport = StringUtils.join(report, System.lineSeparator());
-                InputStream stream =
-                        new ByteArrayInputStream(longReport.getBytes(StandardCharsets.UTF_8));
-                FileUtils.copyToFile(stream, file);
+                report.save();
+                stopWatch.stop();
+                log.debug(logHeader + " Saved found URLs [{}] rows [{}]; elapsed time (ms) [{}]",
+                        fileName, rows, stopWatch.getTime());
             } catch (Exception e) {
                 log.warn(logHeader + " Save found URLs [" + fileName + "] unsuccessful", e);
+            } finally {
+                if (report != null) {
+                    report.discard();
+                }
             }
         }
     }
@@ -1122,7 +1692,7 @@ public class CosengRunner {
      * @see com.sios.stc.coseng.run.CosengRunner#getAllUrls()
      * @see com.sios.stc.coseng.run.CosengRunner#getAllUrlTag(String)
      * @see com.sios.stc.coseng.run.CosengRunner#getAllUrlRoutes(String)
-     * @see com.sios.stc.coseng.util.Http#isAccessible(String)
+     * @see com.sios.stc.coseng.util.Http#isAccessibleAsync(java.util.Collection)
      * @see com.sios.stc.coseng.util.Http#getUrlResponseCode(String)
      * @since 2.1
      * @version.coseng
@@ -1131,10 +1701,8 @@ public class CosengRunner {
             boolean allUrls) {
         String logHeader = getLogHeader();
         boolean allUrlsAccessible = true;
-        Set<String> urls = getUrls();
-        if (allUrls) {
-            urls = getAllUrls();
-        }
+        List<String> urls = new ArrayList<String>(allUrls ? getAllUrls() : getUrls());
+        List<String> checkUrls = new ArrayList<String>();
         for (String url : urls) {
             boolean skip = false;
             if (skipUrls != null && skipUrls.contains(url)) {
@@ -1149,7 +1717,43 @@ public class CosengRunner {
                         getAllUrlRoutes(url));
                 continue;
             }
-            if (!Http.isAccessible(url)) {
+            checkUrls.add(url);
+        }
+        /* Check the whole batch at once; bounded in total and per host */
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        Map<String, CompletableFuture<Boolean>> accessible;
+        int prefetched = 0;
+        Test test = getTest();
+        if (test != null && test.isPrefetchUrlChecks()) {
+            /* Wait only for the checks findUrls started that are in flight */
+            accessible = new LinkedHashMap<String, CompletableFuture<Boolean>>();
+            for (String url : checkUrls) {
+                CompletableFuture<Boolean> check =
+                        urlChecks.computeIfAbsent(url, Http::isAccessibleAsync);
+                if (check.isDone()) {
+                    prefetched++;
+                }
+                accessible.put(url, check);
+            }
+        } else {
+            accessible = Http.isAccessibleAsync(checkUrls);
+        }
+        CompletableFuture.allOf(accessible.values().toArray(new CompletableFuture<?>[0])).join();
+        stopWatch.stop();
+        /* Collected; a transient failure must not be the answer next time */
+        for (Map.Entry<String, CompletableFuture<Boolean>> entry : accessible.entrySet()) {
+            urlChecks.remove(entry.getKey(), entry.getValue());
+        }
+        log.debug(logHeader + " Checked [{}] URLs, [{}] already checked in background;"
+                + " elapsed time (ms) [{}]", accessible.size(), prefetched, stopWatch.getTime());
+        int slowMillis = (test == null ? 0 : test.getSlowUrlMillis());
+        boolean failOnSlow = (test != null && test.isFailOnSlowUrls());
+        int slow = 0;
+        for (Map.Entry<String, CompletableFuture<Boolean>> entry : accessible.entrySet()) {
+            String url = entry.getKey();
+            String tag = getAllUrlTag(url);
+            if (!entry.getValue().join()) {
                 Integer responseCode = Http.getResponseCode(url);
                 log.error(logHeader + " URL [{}], tag [{}], response code [{}]; found on routes {}",
                         url, tag,
@@ -1157,6 +1761,20 @@ public class CosengRunner {
                         getAllUrlRoutes(url));
                 allUrlsAccessible = false;
             }
+            UrlTiming timing = Http.getTiming(url);
+            if (slowMillis > 0 && timing != null && timing.getTotalMillis() > slowMillis) {
+                slow++;
+                log.log(failOnSlow ? org.apache.logging.log4j.Level.ERROR
+                        : org.apache.logging.log4j.Level.WARN,
+                        logHeader + " Slow URL [{}], tag [{}], {}; found on routes {}", url, tag,
+                        timing, getAllUrlRoutes(url));
+                if (failOnSlow) {
+                    allUrlsAccessible = false;
+                }
+            }
+        }
+        if (slow > 0) {
+            log.warn(logHeader + " [{}] URLs slower than slowUrlMillis [{}]", slow, slowMillis);
         }
         return allUrlsAccessible;
     }
@@ -1173,6 +1791,7 @@ public class CosengRunner {
         Actions actions = getActions();
         if (actions != null) {
             actions.sendKeys(key).build().perform();
+            pageChanged();
         }
     }
 
@@ -16,15 +16,13 @@
  */
 package com.sios.stc.coseng.run;
 
+import java.io.File;
 import java.io.PrintStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -39,6 +37,7 @@ import org.apache.logging.log4j.Logger;
 import com.sios.stc.coseng.Common;
 import com.sios.stc.coseng.RunTests;
 import com.sios.stc.coseng.integration.versionone.VersionOne;
+import com.sios.stc.coseng.util.Http;
 import com.sios.stc.coseng.util.Resource;
 
 /**
@@ -54,6 +53,8 @@ public class CosengTests {
             LogManager.getLogger(RunTests.class.getName());
     private static final int                   EXIT_SUCCESS             = 0;
     private static final int                   EXIT_FAILURE             = 1;
+    private static final String                URL_STATUS_CACHE         =
+            "coseng-url-status.tsv";
     private static Tests                       tests;
     private static final Map<String, Class<?>> availableIntegrators     =
             new HashMap<String, Class<?>>();
@@ -108,34 +109,79 @@ public class CosengTests {
          * parallel and shutdown
          */
         boolean executionFailure = false;
-        ExecutorService executorPool = Executors.newCachedThreadPool();
+        WebDriverTeardown.configure(tests.getMaxWebDriverTeardownThreads(),
+                tests.getWebDriverTeardownTimeoutSeconds());
+        Http.setMaxChecks(tests.getMaxUrlChecks(), tests.getMaxUrlChecksPerHost());
+        try {
+            Http.setStatusCache(new File(tests.getReportsDirectory(), URL_STATUS_CACHE),
+                    tests.getUrlStatusCacheTtlMinutes());
+        } catch (CosengException e) {
+            log.warn("Unable to load URL status cache; checking all URLs", e);
+        }
+        TestHistory history = TestHistory.load(tests.getReportsDirectory());
+        TestScheduler scheduler =
+                new TestScheduler(tests.getMaxConcurrentTests(), tests.getMaxConcurrentBrowsers());
         StopWatch stopWatch = new StopWatch();
         try {
             log.info("Testing started");
             stopWatch.start();
-            for (String name : tests.getNames()) {
-                Test test = tests.getTest(name);
-                final Runnable worker = new Concurrent(test);
-                executorPool.execute(worker);
+            /* Pauses and waits end no later than the test execution limit */
+            CosengRunner.setExecutionDeadline(tests.getMaxTestExecutionMinutes());
+            /* Longest expected tests first; Tests JSON order without history */
+            for (Test test : history.order(tests.getAll())) {
+                scheduler.schedule(test);
             }
-            executorPool.shutdown();
-            executorPool.awaitTermination(tests.getMaxTestExecutionMinutes(), TimeUnit.MINUTES);
+            scheduler.awaitTermination(tests.getMaxTestExecutionMinutes());
         } catch (CosengException | RejectedExecutionException e) {
             executionFailure = true;
             log.error("Unable to create test worker", e);
         } catch (InterruptedException e) {
             executionFailure = true;
-            executorPool.shutdownNow();
+            scheduler.shutdownNow();
             log.error("Test execution time exceeded", e);
         } catch (NullPointerException e) {
             log.error("No tests to execute");
         }
+        /* Web drivers are stopped in the background; wait for all to stop */
+        WebDriverTeardown.awaitAll();
+        for (Test test : tests.getAll()) {
+            history.record(test);
+        }
+        history.save();
+        if (Http.hasStatusCache()) {
+            try {
+                Http.saveStatusCache();
+            } catch (CosengException e) {
+                log.warn("Unable to save URL status cache", e);
+            }
+            log.info("URL status cache hit [{}]; miss [{}]", Http.getStatusCacheHitCount(),
+                    Http.getStatusCacheMissCount());
+        }
+        log.info("URL probes [{}]; coalesced with a probe in flight [{}]", Http.getProbeCount(),
+                Http.getCoalescedCount());
         stopWatch.stop();
         log.info("Elapsed time (hh:mm:ss:ms) [{}]", stopWatch.toString());
         /* Report the test results */
         log.info("Reports @ " + tests.getReportDirectories());
         log.info("Total web driver started [{}]; stopped [{}]",
                 CosengRunner.getStartedWebDriverCount(), CosengRunner.getStoppedWebDriverCount());
+        if (WebDriverTeardown.getKilledCount() > 0) {
+            log.warn("Web driver killed at teardown timeout [{}]",
+                    WebDriverTeardown.getKilledCount());
+        }
+        log.info("Web driver startup (ms) average [{}]; max [{}]; peak concurrent starts [{}]",
+                WebDriverLifecycle.getStartAverageMillis(), WebDriverLifecycle.getStartMaxMillis(),
+                WebDriverLifecycle.getStartPeakConcurrency());
+        String serviceReadyTimes = WebDriverLifecycle.getServiceReadyTimes();
+        if (!serviceReadyTimes.isEmpty()) {
+            log.info("Web driver service time-to-ready (ms) {}", serviceReadyTimes);
+        }
+        int leaseHit = WebDriverPool.getLeaseHitCount();
+        int leaseMiss = WebDriverPool.getLeaseMissCount();
+        if (leaseHit + leaseMiss > 0) {
+            log.info("Web driver pool leases hit [{}]; miss [{}]; hit ratio [{}%]", leaseHit,
+                    leaseMiss, (leaseHit * 100) / (leaseHit + leaseMiss));
+        }
         List<String> failedTests = tests.getFailed();
         if (executionFailure || !failedTests.isEmpty()) {
             log.error("Testing completed; with failures "
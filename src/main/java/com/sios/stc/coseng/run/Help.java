@@ -21,6 +21,7 @@ import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.sios.stc.coseng.run.Browsers.Browser;
 import com.sios.stc.coseng.run.Locations.Location;
 import com.sios.stc.coseng.util.Resource;
 
@@ -91,6 +92,34 @@ class Help {
         p.add(space(2, "Default [" + node.getMaxTestExecutionMinutes() + "]"));
         p.add(space(2, "Note: timeout for executor pool"));
 
+        p.add(space(1, "maxWebDriverTeardownThreads: (optional) Integer > 0"));
+        p.add(space(2, "Default [" + node.getMaxWebDriverTeardownThreads() + "]"));
+        p.add(space(2, "Note: web drivers stopped at once in the background"));
+
+        p.add(space(1, "webDriverTeardownTimeoutSeconds: (optional) Integer > 0"));
+        p.add(space(2, "Default [" + node.getWebDriverTeardownTimeoutSeconds() + "]"));
+        p.add(space(2, "Note: a web driver not stopped within the timeout is killed"));
+
+        p.add(space(1, "maxConcurrentTests: (optional) Integer >= 0"));
+        p.add(space(2, "Default [" + node.getMaxConcurrentTests() + "]"));
+        p.add(space(2, "Note: tests executing at once; others queued; 0 no limit"));
+
+        p.add(space(1, "maxConcurrentBrowsers: (optional) Integer >= 0"));
+        p.add(space(2, "Default [" + node.getMaxConcurrentBrowsers() + "]"));
+        p.add(space(2, "Note: browsers required at once by executing tests; 0 no limit"));
+
+        p.add(space(1, "maxUrlChecks: (optional) Integer > 0"));
+        p.add(space(2, "Default [" + node.getMaxUrlChecks() + "]"));
+        p.add(space(2, "Note: URL accessibility checks running at once"));
+
+        p.add(space(1, "maxUrlChecksPerHost: (optional) Integer > 0"));
+        p.add(space(2, "Default [" + node.getMaxUrlChecksPerHost() + "]"));
+        p.add(space(2, "Note: URL accessibility checks running at once against one host"));
+
+        p.add(space(1, "urlStatusCacheTtlMinutes: (optional) Integer >= 0"));
+        p.add(space(2, "Default [" + node.getUrlStatusCacheTtlMinutes() + "]"));
+        p.add(space(2, "Note: minutes a checked URL status is reused; 0 no cache"));
+
         p.add(space(1, ""));
         p.add(Resource.getJsonFromObject(node));
         return StringUtils.join(p, System.lineSeparator());
@@ -152,6 +181,15 @@ class Help {
         p.add(space(1, "angular2App: (optional) boolean"));
         p.add(space(2, "Default [" + test.isAngular2App() + "]"));
 
+        p.add(space(1, "waitForIdle: (optional) boolean"));
+        p.add(space(2, "Default [" + test.isWaitForIdle() + "]"));
+        p.add(space(2,
+                "Wait for no pending fetch/XHR requests and no DOM mutations for idleQuietMillis before acting on web elements"));
+
+        p.add(space(1, "idleQuietMillis: (optional) Integer"));
+        p.add(space(2, "Default [" + test.getIdleQuietMillis() + "]"));
+        p.add(space(2, "Milliseconds without requests or DOM mutations for the page to be idle"));
+
         p.add(space(1, "allowFindUrls: (optional) boolean"));
         p.add(space(2, "Default [" + test.isAllowFindUrls() + "]"));
 
@@ -195,6 +233,47 @@ class Help {
         p.add(space(1, "webDriverWaitTimeoutSeconds: (optional) Integer"));
         p.add(space(2, "Default [" + test.getWebDriverWaitTimeoutSeconds() + "]"));
 
+        p.add(space(1, "webDriverPoolSize: (optional) Integer"));
+        p.add(space(2, "Default [" + test.getWebDriverPoolSize() + "]"));
+        p.add(space(2,
+                "Idle web drivers kept and reset for reuse instead of quit; [0] no pooling; ignored if oneWebDriver [true]"));
+
+        p.add(space(1, "webDriverPoolMaxUses: (optional) Integer"));
+        p.add(space(2, "Default [" + test.getWebDriverPoolMaxUses() + "]"));
+        p.add(space(2, "Uses of a pooled web driver before it is quit; [0] no limit"));
+
+        p.add(space(1, "webDriverPoolWarm: (optional) boolean"));
+        p.add(space(2, "Default [" + test.isWebDriverPoolWarm() + "]"));
+        p.add(space(2,
+                "Start pooled web drivers in the background at TestNG execution start; one per suite thread-count up to webDriverPoolSize"));
+
+        p.add(space(1, "shareWebDriverService: (optional) boolean"));
+        p.add(space(2, "Default [" + test.isShareWebDriverService() + "]"));
+        p.add(space(2, "One web driver service for all of the test's web drivers; location ["
+                + Location.NODE + "] and browser [" + Browser.CHROME + "] only"));
+
+        p.add(space(1, "prefetchUrlChecks: (optional) boolean"));
+        p.add(space(2, "Default [" + test.isPrefetchUrlChecks() + "]"));
+        p.add(space(2, "Check found URLs in the background; requires allowFindUrls [true]"));
+
+        p.add(space(1, "crawlDepth: (optional) Integer"));
+        p.add(space(2, "Default [" + test.getCrawlDepth() + "]"));
+        p.add(space(2,
+                "Links followed from baseUrl, same origin only, by crawlUrls(); [0] no crawl; requires allowFindUrls [true]"));
+
+        p.add(space(1, "crawlWebDrivers: (optional) Integer"));
+        p.add(space(2, "Default [" + test.getCrawlWebDrivers() + "]"));
+        p.add(space(2, "Web drivers loading crawled pages in parallel"));
+
+        p.add(space(1, "slowUrlMillis: (optional) Integer"));
+        p.add(space(2, "Default [" + test.getSlowUrlMillis() + "]"));
+        p.add(space(2,
+                "URL checks, including redirects, taking longer are logged as slow by urlsAccessible(); [0] no threshold"));
+
+        p.add(space(1, "failOnSlowUrls: (optional) boolean"));
+        p.add(space(2, "Default [" + test.isFailOnSlowUrls() + "]"));
+        p.add(space(2, "urlsAccessible() fails if any URL is slow"));
+
         p.add(space(1, "verbosity: (optional) Integer 0..10"));
         p.add(space(2, "Default [" + test.getVerbosity() + "]"));
         p.add(space(2, "TestNG logging level"));
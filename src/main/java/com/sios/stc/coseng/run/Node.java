@@ -42,7 +42,14 @@ import com.sios.stc.coseng.run.Browsers.Browser;
  *   "reportsDirectory": "/tmp/reports",
  *   "resourcesTempDirectory": "/tmp/coseng/resources",
  *   "gridUrl": "http://seleniumgrid.host.com:4444/wd/hub",
- *   "maxTestExecutionMinutes": 60
+ *   "maxTestExecutionMinutes": 60,
+ *   "maxWebDriverTeardownThreads": 4,
+ *   "webDriverTeardownTimeoutSeconds": 60,
+ *   "maxConcurrentTests": 0,
+ *   "maxConcurrentBrowsers": 0,
+ *   "maxUrlChecks": 16,
+ *   "maxUrlChecksPerHost": 4,
+ *   "urlStatusCacheTtlMinutes": 0
  * }
  * </pre></code>
  * 
@@ -55,6 +62,13 @@ import com.sios.stc.coseng.run.Browsers.Browser;
  * <dd>chromeDriver: /usr/bin/chromedriver</dd>
  * <dd>geckoDriver: /usr/bin/geckodriver</dd>
  * <dd>maxTestExecutionMinutes: 60</dd>
+ * <dd>maxWebDriverTeardownThreads: 4</dd>
+ * <dd>webDriverTeardownTimeoutSeconds: 60</dd>
+ * <dd>maxConcurrentTests: 0 (no limit)</dd>
+ * <dd>maxConcurrentBrowsers: 0 (no limit)</dd>
+ * <dd>maxUrlChecks: 16</dd>
+ * <dd>maxUrlChecksPerHost: 4</dd>
+ * <dd>urlStatusCacheTtlMinutes: 0 (no cache)</dd>
  * <dt>Windows</dt>
  * <dd>reportsDirectory: "" (the current working directory)</dd>
  * <dd>resourcesTempDirectory: %USERPROFILE%\AppData\Local\Temp</dd>
@@ -64,6 +78,13 @@ import com.sios.stc.coseng.run.Browsers.Browser;
  * <dd>edgeDriver: C:\\selenium\\MicrosoftWebDriver.exe</dd>
  * <dd>ieDriver: C:\\selenium\\IEDriverServer.exe</dd>
  * <dd>maxTestExecutionMinutes: 60</dd>
+ * <dd>maxWebDriverTeardownThreads: 4</dd>
+ * <dd>webDriverTeardownTimeoutSeconds: 60</dd>
+ * <dd>maxConcurrentTests: 0 (no limit)</dd>
+ * <dd>maxConcurrentBrowsers: 0 (no limit)</dd>
+ * <dd>maxUrlChecks: 16</dd>
+ * <dd>maxUrlChecksPerHost: 4</dd>
+ * <dd>urlStatusCacheTtlMinutes: 0 (no cache)</dd>
  * </dl>
  *
  * @since 2.0
@@ -84,24 +105,45 @@ class Node {
     private String              defaultGridUrl                     = "http://localhost:4444/wd/hub";
     private String              defaultReportsDirectory            = "coseng-reports";
     private int                 defaultTestExecutionMinutes        = 60;
+    private int                 defaultWebDriverTeardownThreads    = 4;
+    private int                 defaultWebDriverTeardownSeconds    = 60;
+    private int                 defaultMaxConcurrentTests          = 0;
+    private int                 defaultMaxConcurrentBrowsers       = 0;
+    private int                 defaultUrlChecks                   = 16;
+    private int                 defaultUrlChecksPerHost            = 4;
+    private int                 defaultUrlStatusCacheTtlMinutes    = 0;
 
     @Expose
-    private final String reportsDirectory        = defaultReportsDirectory;
+    private final String reportsDirectory                = defaultReportsDirectory;
     @Expose
-    private final String resourcesTempDirectory  =
+    private final String resourcesTempDirectory          =
             FileUtils.getTempDirectoryPath() + File.separator + "coseng";
     @Expose
-    private final String chromeDriver            = getDefaultWebDriver(Browser.CHROME);
+    private final String chromeDriver                    = getDefaultWebDriver(Browser.CHROME);
     @Expose
-    private final String geckoDriver             = getDefaultWebDriver(Browser.FIREFOX);
+    private final String geckoDriver                     = getDefaultWebDriver(Browser.FIREFOX);
     @Expose
-    private final String ieDriver                = getDefaultWebDriver(Browser.IE);
+    private final String ieDriver                        = getDefaultWebDriver(Browser.IE);
     @Expose
-    private final String edgeDriver              = getDefaultWebDriver(Browser.EDGE);
+    private final String edgeDriver                      = getDefaultWebDriver(Browser.EDGE);
     @Expose
-    private final String gridUrl                 = defaultGridUrl;
+    private final String gridUrl                         = defaultGridUrl;
     @Expose
-    private final int    maxTestExecutionMinutes = defaultTestExecutionMinutes;
+    private final int    maxTestExecutionMinutes         = defaultTestExecutionMinutes;
+    @Expose
+    private final int    maxWebDriverTeardownThreads     = defaultWebDriverTeardownThreads;
+    @Expose
+    private final int    webDriverTeardownTimeoutSeconds = defaultWebDriverTeardownSeconds;
+    @Expose
+    private final int    maxConcurrentTests              = defaultMaxConcurrentTests;
+    @Expose
+    private final int    maxConcurrentBrowsers           = defaultMaxConcurrentBrowsers;
+    @Expose
+    private final int    maxUrlChecks                    = defaultUrlChecks;
+    @Expose
+    private final int    maxUrlChecksPerHost             = defaultUrlChecksPerHost;
+    @Expose
+    private final int    urlStatusCacheTtlMinutes        = defaultUrlStatusCacheTtlMinutes;
 
     /**
      * Gets the reports directory. This is the target directory for the TestNG
@@ -270,6 +312,97 @@ class Node {
         return maxTestExecutionMinutes;
     }
 
+    /**
+     * Gets the max web driver teardown threads. The most web drivers stopped
+     * at once in the background.
+     *
+     * @return the max web driver teardown threads
+     * @see com.sios.stc.coseng.run.WebDriverTeardown
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getMaxWebDriverTeardownThreads() {
+        return maxWebDriverTeardownThreads;
+    }
+
+    /**
+     * Gets the web driver teardown timeout seconds. A web driver not stopped
+     * within the timeout is killed.
+     *
+     * @return the web driver teardown timeout seconds
+     * @see com.sios.stc.coseng.run.WebDriverTeardown
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getWebDriverTeardownTimeoutSeconds() {
+        return webDriverTeardownTimeoutSeconds;
+    }
+
+    /**
+     * Gets the max concurrent tests. The most tests executing at once; further
+     * tests are queued. 0 for no limit.
+     *
+     * @return the max concurrent tests
+     * @see com.sios.stc.coseng.run.TestScheduler
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getMaxConcurrentTests() {
+        return maxConcurrentTests;
+    }
+
+    /**
+     * Gets the max concurrent browsers. The most browsers the executing tests
+     * may require at once; further tests are queued. 0 for no limit.
+     *
+     * @return the max concurrent browsers
+     * @see com.sios.stc.coseng.run.TestScheduler
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getMaxConcurrentBrowsers() {
+        return maxConcurrentBrowsers;
+    }
+
+    /**
+     * Gets the max url checks. The most URL accessibility checks running at
+     * once in the background.
+     *
+     * @return the max url checks
+     * @see com.sios.stc.coseng.util.Http#setMaxChecks(int, int)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getMaxUrlChecks() {
+        return maxUrlChecks;
+    }
+
+    /**
+     * Gets the max url checks per host. The most URL accessibility checks
+     * running at once against any one host.
+     *
+     * @return the max url checks per host
+     * @see com.sios.stc.coseng.util.Http#setMaxChecks(int, int)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getMaxUrlChecksPerHost() {
+        return maxUrlChecksPerHost;
+    }
+
+    /**
+     * Gets the url status cache ttl minutes. A checked URL's response code is
+     * kept, across tests and executions, for the minutes. 0 for no cache.
+     *
+     * @return the url status cache ttl minutes
+     * @see com.sios.stc.coseng.util.Http#setStatusCache(File, int)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getUrlStatusCacheTtlMinutes() {
+        return urlStatusCacheTtlMinutes;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -281,7 +414,13 @@ class Node {
                 + resourcesTempDirectory + "], chromeDriver [" + chromeDriver + "], ieDriver ["
                 + ieDriver + "], geckoDriver [" + geckoDriver + "], edgeDriver [" + edgeDriver
                 + "], gridUrl [" + gridUrl + "], maxTestExecutionMinutes ["
-                + maxTestExecutionMinutes + "]";
+                + maxTestExecutionMinutes + "], maxWebDriverTeardownThreads ["
+                + maxWebDriverTeardownThreads + "], webDriverTeardownTimeoutSeconds ["
+                + webDriverTeardownTimeoutSeconds + "], maxConcurrentTests ["
+                + maxConcurrentTests + "], maxConcurrentBrowsers [" + maxConcurrentBrowsers
+                + "], maxUrlChecks [" + maxUrlChecks + "], maxUrlChecksPerHost ["
+                + maxUrlChecksPerHost + "], urlStatusCacheTtlMinutes ["
+                + urlStatusCacheTtlMinutes + "]";
     }
 
 }
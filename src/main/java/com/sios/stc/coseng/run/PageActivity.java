@@ -0,0 +1,229 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+
+import com.paulhammant.ngwebdriver.NgWebDriver;
+import com.sios.stc.coseng.RunTests;
+
+/**
+ * The Class PageActivity tracks the activity of one web driver's page as an
+ * epoch; the epoch advances on navigation and on actions that may change the
+ * page state. A readiness wait, for Angular2 requests to finish or for the
+ * page to be idle, is made only if the page has been active since the last
+ * wait of its kind; otherwise it is skipped. Code acting on the page through
+ * raw Selenium objects, such as the web driver of
+ * {@code CosengRunner.getWebDriver()} or {@code WebElement.get()}, should
+ * mark the page changed.
+ * <p>
+ * The page is idle once it has no fetch or XMLHttpRequest requests pending,
+ * its document is loaded and neither a request nor a DOM mutation has occurred
+ * for the quiet window. An idle tracker is injected into the page on the first
+ * wait for each document; requests already pending when it is injected are
+ * not seen, which the quiet window covers for most pages. The wait is one
+ * asynchronous script execution; the page checks itself on its own timers.
+ *
+ * @see com.sios.stc.coseng.run.CosengRunner#pageChanged()
+ * @see com.sios.stc.coseng.run.CosengRunner#waitForIdle()
+ * @see com.sios.stc.coseng.run.CosengRunner#getAngularWaits(String)
+ * @see com.sios.stc.coseng.run.CosengRunner#getIdleWaits(String)
+ * @since 3.0
+ * @version.coseng
+ */
+class PageActivity {
+
+    private static final Logger log           = LogManager.getLogger(RunTests.class.getName());
+    /* Settle before the web driver's script timeout would throw */
+    private static final long   MARGIN_MILLIS = 250L;
+    /*
+     * Arguments; quiet millis, timeout millis and the async callback. Calls
+     * back true once idle, false on timeout. A reused XMLHttpRequest is
+     * listened to once and counts as pending at most once; it settles on
+     * 'loadend' or, where that is not fired, the event ending the request.
+     */
+    private static final String IDLE_JS       =
+            "var quiet = arguments[0], timeout = arguments[1],"
+                    + " done = arguments[arguments.length - 1], w = window;"
+                    + "if (!w.__cosengIdle) { var idle = w.__cosengIdle ="
+                    + " { pending: 0, last: Date.now() };"
+                    + " var busy = function () { idle.last = Date.now(); };"
+                    + " var settle = function () { idle.pending = Math.max(0, idle.pending - 1);"
+                    + " busy(); };"
+                    + " if (w.fetch) { var f = w.fetch; w.fetch = function () {"
+                    + " idle.pending++; busy(); try { return f.apply(this, arguments).then("
+                    + "function (r) { settle(); return r; },"
+                    + " function (e) { settle(); throw e; }); }"
+                    + " catch (e) { settle(); throw e; } }; }"
+                    + " if (w.XMLHttpRequest) { var send = w.XMLHttpRequest.prototype.send;"
+                    + " var sent = function (x) { if (x.__cosengPending) {"
+                    + " x.__cosengPending = false; settle(); } };"
+                    + " w.XMLHttpRequest.prototype.send = function () { var x = this;"
+                    + " if (!x.__cosengTracked) { x.__cosengTracked = true;"
+                    + " ['loadend', 'load', 'error', 'abort', 'timeout'].forEach("
+                    + "function (t) { x.addEventListener(t, function () { sent(x); }); }); }"
+                    + " if (!x.__cosengPending) { x.__cosengPending = true; idle.pending++; }"
+                    + " busy(); try { return send.apply(x, arguments); }"
+                    + " catch (e) { sent(x); throw e; } }; }"
+                    + " if (w.MutationObserver) { new w.MutationObserver(busy).observe(document,"
+                    + " { childList: true, subtree: true, attributes: true,"
+                    + " characterData: true }); } }"
+                    + "var tracker = w.__cosengIdle, start = Date.now();"
+                    + "(function check() { var now = Date.now();"
+                    + " if (tracker.pending === 0 && document.readyState === 'complete'"
+                    + " && now - tracker.last >= quiet) { done(true); }"
+                    + " else if (now - start >= timeout) { done(false); }"
+                    + " else { setTimeout(check, Math.max(10,"
+                    + " Math.min(50, quiet - (now - tracker.last)))); } })();";
+
+    private final AtomicLong epoch        = new AtomicLong();
+    /* Epoch at the last wait of each kind; -1 if none */
+    private volatile long    angularEpoch = -1L;
+    private volatile long    idleEpoch    = -1L;
+
+    /**
+     * Mark the page changed; the next wait of each kind will be made.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void changed() {
+        epoch.incrementAndGet();
+    }
+
+    /**
+     * Wait for the page to be ready as the test requires; for Angular2
+     * requests to finish if an Angular2 app, then for the page to be idle if
+     * the test waits for idle. Each wait is skipped if the page has not been
+     * active since the last wait of its kind.
+     *
+     * @param test
+     *            the test
+     * @param ngWebDriver
+     *            the ng web driver
+     * @param jsExecutor
+     *            the javascript executor
+     * @see com.sios.stc.coseng.run.Test#isAngular2App()
+     * @see com.sios.stc.coseng.run.Test#isWaitForIdle()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void waitForReady(Test test, NgWebDriver ngWebDriver,
+            JavascriptExecutor jsExecutor) {
+        if (test.isAngular2App()) {
+            waitForAngular2(test.getName(), ngWebDriver);
+        }
+        if (test.isWaitForIdle()) {
+            waitForIdle(test, jsExecutor, false);
+        }
+    }
+
+    /**
+     * Wait for Angular2 requests to finish unless the page has not been active
+     * since the last successful wait. The wait or skip is counted for the
+     * test.
+     *
+     * @param name
+     *            the test name
+     * @param ngWebDriver
+     *            the ng web driver
+     * @see com.paulhammant.ngwebdriver.NgWebDriver#waitForAngular2RequestsToFinish()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void waitForAngular2(String name, NgWebDriver ngWebDriver) {
+        long current = epoch.get();
+        if (angularEpoch == current) {
+            CosengRunner.countAngularWait(name, true);
+            return;
+        }
+        ngWebDriver.waitForAngular2RequestsToFinish();
+        /* Activity during the wait leaves the epoch ahead; next wait is made */
+        angularEpoch = current;
+        CosengRunner.countAngularWait(name, false);
+    }
+
+    /**
+     * Wait for the page to be idle for the test's quiet window, at most the
+     * test's web driver timeout. Unless forced, skipped if the page has not
+     * been active since the last wait. The wait or skip is counted for the
+     * test. A page that is not idle within the timeout is not waited on again
+     * until it is next active, so a page that is never idle costs one timeout
+     * per change rather than one per action.
+     *
+     * @param test
+     *            the test
+     * @param jsExecutor
+     *            the javascript executor
+     * @param force
+     *            true, to wait even if the page has not been active
+     * @return true, if idle or skipped; false if not idle within the timeout
+     * @see com.sios.stc.coseng.run.Test#getIdleQuietMillis()
+     * @see com.sios.stc.coseng.run.Test#getWebDriverTimeoutSeconds()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected boolean waitForIdle(Test test, JavascriptExecutor jsExecutor, boolean force) {
+        long current = epoch.get();
+        if (!force && idleEpoch == current) {
+            CosengRunner.countIdleWait(test.getName(), true);
+            return true;
+        }
+        boolean idle = isIdle(jsExecutor, test.getIdleQuietMillis(),
+                TimeUnit.SECONDS.toMillis(test.getWebDriverTimeoutSeconds()));
+        if (!idle) {
+            log.debug("Test [{}] page not idle within [{}] seconds", test.getName(),
+                    test.getWebDriverTimeoutSeconds());
+        }
+        idleEpoch = current;
+        CosengRunner.countIdleWait(test.getName(), false);
+        return idle;
+    }
+
+    /**
+     * Wait for a page to be idle with one asynchronous script execution. The
+     * idle tracker is injected if absent.
+     *
+     * @param jsExecutor
+     *            the javascript executor; its script timeout bounds the wait
+     * @param quietMillis
+     *            the milliseconds without requests or DOM mutations to be idle
+     * @param timeoutMillis
+     *            the milliseconds to wait; the web driver's script timeout
+     * @return true, if idle; false if not idle within the timeout or the
+     *         script failed
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static boolean isIdle(JavascriptExecutor jsExecutor, int quietMillis,
+            long timeoutMillis) {
+        try {
+            return Boolean.TRUE.equals(jsExecutor.executeAsyncScript(IDLE_JS, quietMillis,
+                    Math.max(0L, timeoutMillis - MARGIN_MILLIS)));
+        } catch (WebDriverException e) {
+            /* Script timeout or page navigated away mid wait */
+            return false;
+        }
+    }
+
+}
@@ -75,6 +75,8 @@ import com.sios.stc.coseng.run.Locations.Location;
  * <dd>incognito: false (private/incognito for any supported browser)</dd>
  * <dd>acceptInvalidCerts: false</dd>
  * <dd>angular2App: false</dd>
+ * <dd>waitForIdle: false</dd>
+ * <dd>idleQuietMillis: 500</dd>
  * <dd>allowFindUrl: false</dd>
  * <dd>allowScreenshot: false</dd>
  * <dd>browserWidth: null</dd>
@@ -86,6 +88,15 @@ import com.sios.stc.coseng.run.Locations.Location;
  * <dd>oneWebDriver: false</dd>
  * <dd>webDriverTimeoutSeconds: 5</dd>
  * <dd>webDriverWaitTimeoutSeconds: 5</dd>
+ * <dd>webDriverPoolSize: 0 (no pooling)</dd>
+ * <dd>webDriverPoolMaxUses: 0 (no limit)</dd>
+ * <dd>webDriverPoolWarm: false</dd>
+ * <dd>shareWebDriverService: false</dd>
+ * <dd>prefetchUrlChecks: false</dd>
+ * <dd>crawlDepth: 0 (no crawl)</dd>
+ * <dd>crawlWebDrivers: 1</dd>
+ * <dd>slowUrlMillis: 0 (no threshold)</dd>
+ * <dd>failOnSlowUrls: false</dd>
  * </dl>
  *
  * @since 2.0
@@ -114,6 +125,9 @@ public class Test implements IntegratorData {
     private ITestClass     testNgClass               = null;
     private IInvokedMethod testNgMethod              = null;
     private int            testSuiteCount            = 0;
+    private int            webDriverConcurrency      = 0;
+    private long           queueWaitMillis           = 0;
+    private long           elapsedMillis             = 0;
     private List<Data>     integratorData            = new ArrayList<Data>();
 
     @Expose
@@ -147,6 +161,10 @@ public class Test implements IntegratorData {
     @Expose
     private boolean      angular2App                 = angular2AppDefault;
     @Expose
+    private boolean      waitForIdle                 = false;
+    @Expose
+    private Integer      idleQuietMillis             = 500;
+    @Expose
     private boolean      allowFindUrls               = allowFindUrlsDefault;
     @Expose
     private boolean      allowScreenshots            = allowScreenshotsDefault;
@@ -158,6 +176,24 @@ public class Test implements IntegratorData {
     private boolean      browserMaximize             = browserMaximizeDefault;
     @Expose
     private Integer      verbosity                   = 0;
+    @Expose
+    private Integer      webDriverPoolSize           = 0;
+    @Expose
+    private Integer      webDriverPoolMaxUses        = 0;
+    @Expose
+    private boolean      webDriverPoolWarm           = false;
+    @Expose
+    private boolean      shareWebDriverService       = false;
+    @Expose
+    private boolean      prefetchUrlChecks           = false;
+    @Expose
+    private Integer      crawlDepth                  = 0;
+    @Expose
+    private Integer      crawlWebDrivers             = 1;
+    @Expose
+    private Integer      slowUrlMillis               = 0;
+    @Expose
+    private boolean      failOnSlowUrls              = false;
 
     protected Test deepCopy() {
         return new Test(this);
@@ -189,6 +225,7 @@ public class Test implements IntegratorData {
         this.testNgClass = original.testNgClass;
         this.testNgMethod = original.testNgMethod;
         this.testSuiteCount = original.testSuiteCount;
+        this.webDriverConcurrency = original.webDriverConcurrency;
         for (Data data : original.integratorData) {
             this.integratorData.add(data.deepCopy());
         }
@@ -207,12 +244,23 @@ public class Test implements IntegratorData {
         this.incognito = original.incognito;
         this.acceptInvalidCerts = original.acceptInvalidCerts;
         this.angular2App = original.angular2App;
+        this.waitForIdle = original.waitForIdle;
+        this.idleQuietMillis = original.idleQuietMillis;
         this.allowFindUrls = original.allowFindUrls;
         this.allowScreenshots = original.allowScreenshots;
         this.browserWidth = original.browserWidth;
         this.browserHeight = original.browserHeight;
         this.browserMaximize = original.browserMaximize;
         this.verbosity = original.verbosity;
+        this.webDriverPoolSize = original.webDriverPoolSize;
+        this.webDriverPoolMaxUses = original.webDriverPoolMaxUses;
+        this.webDriverPoolWarm = original.webDriverPoolWarm;
+        this.shareWebDriverService = original.shareWebDriverService;
+        this.prefetchUrlChecks = original.prefetchUrlChecks;
+        this.crawlDepth = original.crawlDepth;
+        this.crawlWebDrivers = original.crawlWebDrivers;
+        this.slowUrlMillis = original.slowUrlMillis;
+        this.failOnSlowUrls = original.failOnSlowUrls;
     }
 
     /**
@@ -754,6 +802,34 @@ public class Test implements IntegratorData {
         return angular2App;
     }
 
+    /**
+     * Checks if is wait for idle. If true, COSENG waits for the page to be
+     * idle, no requests pending and no DOM mutations for the idle quiet
+     * window, before acting on web elements; for React, plain JavaScript and
+     * other apps without an Angular2 readiness wait.
+     *
+     * @return true, if is wait for idle
+     * @see com.sios.stc.coseng.run.CosengRunner#waitForIdle()
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean isWaitForIdle() {
+        return waitForIdle;
+    }
+
+    /**
+     * Gets the idle quiet millis. The milliseconds without requests or DOM
+     * mutations for the page to be idle.
+     *
+     * @return the idle quiet millis
+     * @see com.sios.stc.coseng.run.Test#isWaitForIdle()
+     * @since 3.0
+     * @version.coseng
+     */
+    public Integer getIdleQuietMillis() {
+        return idleQuietMillis;
+    }
+
     /**
      * Checks if is allow find urls.
      *
@@ -850,6 +926,207 @@ public class Test implements IntegratorData {
         return browserMaximize;
     }
 
+    /**
+     * Gets the web driver pool size. The maximum number of idle web drivers
+     * kept for reuse between leases; 0 disables pooling. Ignored if
+     * oneWebDriver.
+     *
+     * @return the web driver pool size
+     * @see com.sios.stc.coseng.run.WebDriverPool
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Integer getWebDriverPoolSize() {
+        return webDriverPoolSize;
+    }
+
+    /**
+     * Gets the web driver pool max uses. The number of leases after which a
+     * pooled web driver is quit; 0 for no limit.
+     *
+     * @return the web driver pool max uses
+     * @see com.sios.stc.coseng.run.WebDriverPool
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Integer getWebDriverPoolMaxUses() {
+        return webDriverPoolMaxUses;
+    }
+
+    /**
+     * Checks if is web driver pool warm. If true and pooling, web drivers are
+     * started in the background at the start of TestNG execution so the first
+     * tests need not wait for a browser launch.
+     *
+     * @return true, if is web driver pool warm
+     * @see com.sios.stc.coseng.run.WebDriverPool#warm(int)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected boolean isWebDriverPoolWarm() {
+        return webDriverPoolWarm;
+    }
+
+    /**
+     * Checks if is share web driver service. If true, all of the test's web
+     * drivers are sessions of one long-lived web driver service rather than
+     * each starting its own. Applies to location [node] and browser [chrome];
+     * the other browsers' web drivers host a single session.
+     *
+     * @return true, if is share web driver service
+     * @see com.sios.stc.coseng.run.WebDriverLifecycle#createWebDriver(Test)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected boolean isShareWebDriverService() {
+        return shareWebDriverService;
+    }
+
+    /**
+     * Checks if is prefetch url checks. If true, each URL recorded by
+     * {@code findUrls()} is checked for accessibility in the background while
+     * the test continues; {@code urlsAccessible()} waits only for the checks
+     * still in flight. Skipped tags and URLs are known only to
+     * {@code urlsAccessible()} so may be checked regardless.
+     *
+     * @return true, if is prefetch url checks
+     * @see com.sios.stc.coseng.run.CosengRunner#findUrls()
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean isPrefetchUrlChecks() {
+        return prefetchUrlChecks;
+    }
+
+    /**
+     * Gets the crawl depth. The links followed from the base URL by
+     * {@code crawlUrls()}; 0 for no crawl.
+     *
+     * @return the crawl depth
+     * @see com.sios.stc.coseng.run.CosengRunner#crawlUrls()
+     * @since 3.0
+     * @version.coseng
+     */
+    public Integer getCrawlDepth() {
+        return crawlDepth;
+    }
+
+    /**
+     * Gets the crawl web drivers. The web drivers started to load crawled
+     * pages in parallel; in addition to the test's own web drivers.
+     *
+     * @return the crawl web drivers
+     * @see com.sios.stc.coseng.run.CosengRunner#crawlUrls()
+     * @since 3.0
+     * @version.coseng
+     */
+    public Integer getCrawlWebDrivers() {
+        return crawlWebDrivers;
+    }
+
+    /**
+     * Gets the slow url millis. A URL whose check, including redirects, takes
+     * longer is logged as slow by {@code urlsAccessible()}; 0 for no
+     * threshold.
+     *
+     * @return the slow url millis
+     * @see com.sios.stc.coseng.util.Http#getTiming(String)
+     * @since 3.0
+     * @version.coseng
+     */
+    public Integer getSlowUrlMillis() {
+        return slowUrlMillis;
+    }
+
+    /**
+     * Checks if is fail on slow urls. If true, {@code urlsAccessible()} fails
+     * when any URL is slow.
+     *
+     * @return true, if is fail on slow urls
+     * @see com.sios.stc.coseng.run.Test#getSlowUrlMillis()
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean isFailOnSlowUrls() {
+        return failOnSlowUrls;
+    }
+
+    /**
+     * Gets the web driver concurrency. The most web drivers the test's suites
+     * may require at once; derived from each suite's parallel mode and
+     * thread-count.
+     *
+     * @return the web driver concurrency
+     * @see com.sios.stc.coseng.run.Validate#suites(Test)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getWebDriverConcurrency() {
+        return webDriverConcurrency;
+    }
+
+    /**
+     * Sets the web driver concurrency.
+     *
+     * @param webDriverConcurrency
+     *            the new web driver concurrency
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setWebDriverConcurrency(int webDriverConcurrency) {
+        this.webDriverConcurrency = webDriverConcurrency;
+    }
+
+    /**
+     * Gets the queue wait millis. The time the test waited for a test slot and
+     * its browsers before executing.
+     *
+     * @return the queue wait millis
+     * @see com.sios.stc.coseng.run.TestScheduler
+     * @since 3.0
+     * @version.coseng
+     */
+    protected long getQueueWaitMillis() {
+        return queueWaitMillis;
+    }
+
+    /**
+     * Sets the queue wait millis.
+     *
+     * @param queueWaitMillis
+     *            the new queue wait millis
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setQueueWaitMillis(long queueWaitMillis) {
+        this.queueWaitMillis = queueWaitMillis;
+    }
+
+    /**
+     * Gets the elapsed millis. The time the test's TestNG run took; 0 if not
+     * executed.
+     *
+     * @return the elapsed millis
+     * @see com.sios.stc.coseng.run.TestHistory
+     * @since 3.0
+     * @version.coseng
+     */
+    protected long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Sets the elapsed millis.
+     *
+     * @param elapsedMillis
+     *            the new elapsed millis
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -862,12 +1139,19 @@ public class Test implements IntegratorData {
                 + ", browser [" + browser + "], browserRequestVersion [" + browserRequestVersion
                 + "], browserHeadless [" + browserHeadless + "], incognito [" + incognito
                 + "], acceptInvalidCerts [" + acceptInvalidCerts + "], angular2App [" + angular2App
+                + "], waitForIdle [" + waitForIdle + "], idleQuietMillis [" + idleQuietMillis
                 + "], allowFindUrls [" + allowFindUrls + "], allowScreenshots [" + allowScreenshots
                 + "], browserWidth [" + browserWidth + "], browserHeight [" + browserHeight
                 + "], browserMaximize [" + browserMaximize + "], oneWebDriver [" + oneWebDriver
                 + "], verbosity [" + verbosity + "], webDriverTimeoutSeconds ["
                 + webDriverTimeoutSeconds + "], webDriverWaitTimeoutSeconds ["
-                + webDriverWaitTimeoutSeconds + "], reportDirectory [" + reportDirectory + "]";
+                + webDriverWaitTimeoutSeconds + "], webDriverPoolSize [" + webDriverPoolSize
+                + "], webDriverPoolMaxUses [" + webDriverPoolMaxUses + "], webDriverPoolWarm ["
+                + webDriverPoolWarm + "], shareWebDriverService [" + shareWebDriverService
+                + "], prefetchUrlChecks [" + prefetchUrlChecks + "], crawlDepth [" + crawlDepth
+                + "], crawlWebDrivers [" + crawlWebDrivers + "], slowUrlMillis ["
+                + slowUrlMillis + "], failOnSlowUrls [" + failOnSlowUrls + "], reportDirectory ["
+                + reportDirectory + "]";
     }
 
     /*
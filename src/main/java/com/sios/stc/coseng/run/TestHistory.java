@@ -0,0 +1,161 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.annotations.Expose;
+import com.sios.stc.coseng.RunTests;
+import com.sios.stc.coseng.util.Resource;
+
+/**
+ * The Class TestHistory keeps the elapsed time of each COSENG test from
+ * earlier executions in a JSON file in the node reports directory. The
+ * history orders tests longest expected first so a long test does not start
+ * last and become the critical path. Tests without history are ordered first,
+ * as their time is unknown; tests with equal expected time keep the Tests
+ * JSON order. The expected time of a test is the average of its previously
+ * expected and its latest elapsed time.
+ *
+ * @see com.sios.stc.coseng.run.CosengTests#with(String[])
+ * @see com.sios.stc.coseng.run.TestScheduler
+ * @since 3.0
+ * @version.coseng
+ */
+class TestHistory {
+
+    private static final Logger log       = LogManager.getLogger(RunTests.class.getName());
+    private static final String FILE_NAME = "coseng-test-history.json";
+
+    @Expose
+    private Map<String, Long> elapsedMillis = new HashMap<String, Long>();
+    private File              file          = null;
+
+    /**
+     * Load the test history from the reports directory. An absent or
+     * unreadable history is empty.
+     *
+     * @param reportsDirectory
+     *            the reports directory
+     * @return the test history
+     * @see com.sios.stc.coseng.run.Node#getReportsDirectory()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static TestHistory load(File reportsDirectory) {
+        File file = new File(reportsDirectory, FILE_NAME);
+        TestHistory history = null;
+        if (file.exists()) {
+            try {
+                history = (TestHistory) Resource.getObjectFromJson(file.getPath(), null,
+                        TestHistory.class);
+            } catch (CosengException e) {
+                log.warn("Unable to read test history [{}]; ignoring", file.getPath(), e);
+            }
+        }
+        if (history == null) {
+            history = new TestHistory();
+        }
+        if (history.elapsedMillis == null) {
+            history.elapsedMillis = new HashMap<String, Long>();
+        }
+        history.file = file;
+        return history;
+    }
+
+    /**
+     * Order tests longest expected first.
+     *
+     * @param tests
+     *            the tests in Tests JSON order
+     * @return the tests ordered for scheduling
+     * @since 3.0
+     * @version.coseng
+     */
+    protected List<Test> order(List<Test> tests) {
+        List<Test> ordered = new ArrayList<Test>(tests);
+        Collections.sort(ordered, new Comparator<Test>() {
+            @Override
+            public int compare(Test a, Test b) {
+                return Long.compare(getExpectedMillis(b), getExpectedMillis(a));
+            }
+        });
+        return ordered;
+    }
+
+    /**
+     * Record the elapsed time of a test. A test that was not executed is not
+     * recorded.
+     *
+     * @param test
+     *            the test
+     * @see com.sios.stc.coseng.run.Test#getElapsedMillis()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void record(Test test) {
+        long elapsed = test.getElapsedMillis();
+        if (elapsed > 0) {
+            Long expected = elapsedMillis.get(test.getName());
+            elapsedMillis.put(test.getName(),
+                    expected == null ? elapsed : (expected + elapsed) / 2);
+        }
+    }
+
+    /**
+     * Save the test history to the reports directory.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void save() {
+        try {
+            FileUtils.writeStringToFile(file, Resource.getJsonFromObject(this),
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Unable to save test history [{}]", file.getPath(), e);
+        }
+    }
+
+    /**
+     * Gets the expected millis of a test; {@code Long.MAX_VALUE} if the test
+     * has no history so it is ordered first.
+     *
+     * @param test
+     *            the test
+     * @return the expected millis
+     * @since 3.0
+     * @version.coseng
+     */
+    private long getExpectedMillis(Test test) {
+        Long expected = elapsedMillis.get(test.getName());
+        return expected == null ? Long.MAX_VALUE : expected;
+    }
+
+}
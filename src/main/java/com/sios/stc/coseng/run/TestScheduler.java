@@ -0,0 +1,170 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.sios.stc.coseng.RunTests;
+
+/**
+ * The Class TestScheduler bounds the COSENG tests executing at once on the
+ * node. At most the maximum concurrent tests execute at once, and the tests
+ * executing at once may together require no more than the maximum concurrent
+ * browsers. A test requires as many browsers as its web driver concurrency;
+ * one if it uses one web driver; plus its crawl web drivers if it crawls. A
+ * test requiring more browsers than the maximum is run alone with all of
+ * them. Tests are queued in the order scheduled and start as test slots and
+ * browsers free up; the time each test spent queued is set on the test.
+ *
+ * @see com.sios.stc.coseng.run.Node#getMaxConcurrentTests()
+ * @see com.sios.stc.coseng.run.Node#getMaxConcurrentBrowsers()
+ * @see com.sios.stc.coseng.run.CosengTests#with(String[])
+ * @since 3.0
+ * @version.coseng
+ */
+class TestScheduler {
+
+    private static final Logger   log = LogManager.getLogger(RunTests.class.getName());
+    private final ExecutorService executor;
+    private final Semaphore       browsers;
+    private final int             maxBrowsers;
+
+    /**
+     * Instantiates a new test scheduler.
+     *
+     * @param maxConcurrentTests
+     *            the maximum tests executing at once; 0 for no limit
+     * @param maxConcurrentBrowsers
+     *            the maximum browsers required at once by the executing tests;
+     *            0 for no limit
+     * @since 3.0
+     * @version.coseng
+     */
+    protected TestScheduler(int maxConcurrentTests, int maxConcurrentBrowsers) {
+        if (maxConcurrentTests > 0) {
+            executor = Executors.newFixedThreadPool(maxConcurrentTests);
+        } else {
+            executor = Executors.newCachedThreadPool();
+        }
+        if (maxConcurrentBrowsers > 0) {
+            browsers = new Semaphore(maxConcurrentBrowsers, true);
+        } else {
+            browsers = null;
+        }
+        maxBrowsers = maxConcurrentBrowsers;
+    }
+
+    /**
+     * Schedule a test. Returns at once; the test is executed once a test slot
+     * and its browsers are free.
+     *
+     * @param test
+     *            the test; may not be null
+     * @throws CosengException
+     *             the coseng exception
+     * @see com.sios.stc.coseng.run.Concurrent
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void schedule(final Test test) throws CosengException {
+        final Concurrent concurrent = new Concurrent(test);
+        final int permits = getBrowserPermits(test);
+        final long queued = System.nanoTime();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (browsers != null) {
+                        browsers.acquire(permits);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    test.setIsFailed(true);
+                    log.error("Test [{}] interrupted waiting for [{}] browsers", test.getName(),
+                            permits);
+                    return;
+                }
+                try {
+                    test.setQueueWaitMillis(
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queued));
+                    concurrent.run();
+                } finally {
+                    if (browsers != null) {
+                        browsers.release(permits);
+                    }
+                }
+            }
+        });
+        log.debug("Test [{}] scheduled; browsers [{}]", test.getName(), permits);
+    }
+
+    /**
+     * Shutdown the scheduler and await the scheduled tests.
+     *
+     * @param minutes
+     *            the minutes to await the tests
+     * @return true, if all scheduled tests completed within the minutes
+     * @throws InterruptedException
+     *             the interrupted exception
+     * @since 3.0
+     * @version.coseng
+     */
+    protected boolean awaitTermination(int minutes) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(minutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Shutdown now; interrupts executing tests.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void shutdownNow() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Gets the browser permits a test requires; limited to the maximum
+     * concurrent browsers.
+     *
+     * @param test
+     *            the test
+     * @return the browser permits
+     * @since 3.0
+     * @version.coseng
+     */
+    private int getBrowserPermits(Test test) {
+        int permits = (test.isOneWebDriver() ? 1 : Math.max(1, test.getWebDriverConcurrency()));
+        if (test.isAllowFindUrls() && test.getCrawlDepth() > 0) {
+            permits += test.getCrawlWebDrivers();
+        }
+        if (maxBrowsers > 0 && permits > maxBrowsers) {
+            log.warn("Test [{}] requires [{}] browsers; more than maxConcurrentBrowsers [{}]",
+                    test.getName(), permits, maxBrowsers);
+            permits = maxBrowsers;
+        }
+        return permits;
+    }
+
+}
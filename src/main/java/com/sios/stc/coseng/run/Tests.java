@@ -16,6 +16,7 @@
  */
 package com.sios.stc.coseng.run;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,7 +31,15 @@ import com.google.gson.annotations.Expose;
  */
 class Tests {
 
-    private int maxTestExecutionMinutes = 0;
+    private int  maxTestExecutionMinutes         = 0;
+    private int  maxWebDriverTeardownThreads     = 0;
+    private int  webDriverTeardownTimeoutSeconds = 0;
+    private int  maxConcurrentTests              = 0;
+    private int  maxConcurrentBrowsers           = 0;
+    private int  maxUrlChecks                    = 0;
+    private int  maxUrlChecksPerHost             = 0;
+    private int  urlStatusCacheTtlMinutes        = 0;
+    private File reportsDirectory                = null;
 
     @Expose
     private final List<Test> tests = new ArrayList<Test>();
@@ -231,4 +240,203 @@ class Tests {
         }
     }
 
+    /**
+     * Gets the max web driver teardown threads.
+     *
+     * @return the max web driver teardown threads
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getMaxWebDriverTeardownThreads() {
+        return this.maxWebDriverTeardownThreads;
+    }
+
+    /**
+     * Sets the max web driver teardown threads.
+     *
+     * @param maxWebDriverTeardownThreads
+     *            the new max web driver teardown threads
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setMaxWebDriverTeardownThreads(int maxWebDriverTeardownThreads) {
+        if (maxWebDriverTeardownThreads > 0) {
+            this.maxWebDriverTeardownThreads = maxWebDriverTeardownThreads;
+        }
+    }
+
+    /**
+     * Gets the web driver teardown timeout seconds.
+     *
+     * @return the web driver teardown timeout seconds
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getWebDriverTeardownTimeoutSeconds() {
+        return this.webDriverTeardownTimeoutSeconds;
+    }
+
+    /**
+     * Sets the web driver teardown timeout seconds.
+     *
+     * @param webDriverTeardownTimeoutSeconds
+     *            the new web driver teardown timeout seconds
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setWebDriverTeardownTimeoutSeconds(int webDriverTeardownTimeoutSeconds) {
+        if (webDriverTeardownTimeoutSeconds > 0) {
+            this.webDriverTeardownTimeoutSeconds = webDriverTeardownTimeoutSeconds;
+        }
+    }
+
+    /**
+     * Gets the max concurrent tests.
+     *
+     * @return the max concurrent tests; 0 for no limit
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getMaxConcurrentTests() {
+        return this.maxConcurrentTests;
+    }
+
+    /**
+     * Sets the max concurrent tests.
+     *
+     * @param maxConcurrentTests
+     *            the new max concurrent tests
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setMaxConcurrentTests(int maxConcurrentTests) {
+        if (maxConcurrentTests >= 0) {
+            this.maxConcurrentTests = maxConcurrentTests;
+        }
+    }
+
+    /**
+     * Gets the max concurrent browsers.
+     *
+     * @return the max concurrent browsers; 0 for no limit
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getMaxConcurrentBrowsers() {
+        return this.maxConcurrentBrowsers;
+    }
+
+    /**
+     * Sets the max concurrent browsers.
+     *
+     * @param maxConcurrentBrowsers
+     *            the new max concurrent browsers
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setMaxConcurrentBrowsers(int maxConcurrentBrowsers) {
+        if (maxConcurrentBrowsers >= 0) {
+            this.maxConcurrentBrowsers = maxConcurrentBrowsers;
+        }
+    }
+
+    /**
+     * Gets the max url checks.
+     *
+     * @return the max url checks
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getMaxUrlChecks() {
+        return this.maxUrlChecks;
+    }
+
+    /**
+     * Sets the max url checks.
+     *
+     * @param maxUrlChecks
+     *            the new max url checks
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setMaxUrlChecks(int maxUrlChecks) {
+        if (maxUrlChecks > 0) {
+            this.maxUrlChecks = maxUrlChecks;
+        }
+    }
+
+    /**
+     * Gets the max url checks per host.
+     *
+     * @return the max url checks per host
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getMaxUrlChecksPerHost() {
+        return this.maxUrlChecksPerHost;
+    }
+
+    /**
+     * Sets the max url checks per host.
+     *
+     * @param maxUrlChecksPerHost
+     *            the new max url checks per host
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setMaxUrlChecksPerHost(int maxUrlChecksPerHost) {
+        if (maxUrlChecksPerHost > 0) {
+            this.maxUrlChecksPerHost = maxUrlChecksPerHost;
+        }
+    }
+
+    /**
+     * Gets the url status cache ttl minutes.
+     *
+     * @return the url status cache ttl minutes; 0 for no cache
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getUrlStatusCacheTtlMinutes() {
+        return this.urlStatusCacheTtlMinutes;
+    }
+
+    /**
+     * Sets the url status cache ttl minutes.
+     *
+     * @param urlStatusCacheTtlMinutes
+     *            the new url status cache ttl minutes
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setUrlStatusCacheTtlMinutes(int urlStatusCacheTtlMinutes) {
+        if (urlStatusCacheTtlMinutes >= 0) {
+            this.urlStatusCacheTtlMinutes = urlStatusCacheTtlMinutes;
+        }
+    }
+
+    /**
+     * Gets the node reports directory.
+     *
+     * @return the reports directory
+     * @see com.sios.stc.coseng.run.Node#getReportsDirectory()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected File getReportsDirectory() {
+        return this.reportsDirectory;
+    }
+
+    /**
+     * Sets the node reports directory.
+     *
+     * @param reportsDirectory
+     *            the new reports directory
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void setReportsDirectory(File reportsDirectory) {
+        this.reportsDirectory = reportsDirectory;
+    }
+
 }
@@ -0,0 +1,346 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import com.paulhammant.ngwebdriver.NgWebDriver;
+import com.sios.stc.coseng.RunTests;
+
+/**
+ * The Class UrlCrawler crawls a test's site breadth first from its base URL.
+ * Pages within the base URL's origin (protocol, host and port) are loaded up to
+ * the crawl depth; the base URL is depth 0. Each page's URLs are harvested as
+ * by {@code findUrls()} and handed to a recorder with the page's route, and
+ * the page's load time is kept. Only anchor, area and frame URLs are followed.
+ * Pages are loaded by a pool of web drivers started for the crawl; each web
+ * driver takes pages from a shared frontier of the current depth until it is
+ * empty, then the next depth is crawled.
+ *
+ * @see com.sios.stc.coseng.run.CosengRunner#crawlUrls()
+ * @see com.sios.stc.coseng.run.Test#getCrawlDepth()
+ * @see com.sios.stc.coseng.run.Test#getCrawlWebDrivers()
+ * @since 3.0
+ * @version.coseng
+ */
+class UrlCrawler {
+
+    private static final Logger                           log         =
+            LogManager.getLogger(RunTests.class.getName());
+    private static final Set<String>                      FOLLOW_TAGS =
+            new HashSet<String>(Arrays.asList("a", "area", "frame", "iframe"));
+    private final Test                                    test;
+    private final URL                                     origin;
+    private final BiConsumer<Map<String, String>, String> recorder;
+    private final Callable<WebDriverSession>              webDriverFactory;
+    private final Set<String>                             visited     =
+            Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final ConcurrentHashMap<String, Long>         loadMillis  =
+            new ConcurrentHashMap<String, Long>();
+
+    /**
+     * Instantiates a new url crawler.
+     *
+     * @param test
+     *            the test; its base URL is crawled
+     * @param recorder
+     *            the recorder of each page's harvested URLs and tags, and the
+     *            page's route
+     * @throws CosengException
+     *             the coseng exception; if the test has no valid base URL
+     * @see com.sios.stc.coseng.run.WebDriverLifecycle#createWebDriver(Test)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected UrlCrawler(Test test, BiConsumer<Map<String, String>, String> recorder)
+            throws CosengException {
+        this(test, recorder, () -> WebDriverLifecycle.createWebDriver(test));
+    }
+
+    /**
+     * Instantiates a new url crawler that starts its web drivers with the
+     * given factory.
+     *
+     * @param test
+     *            the test; its base URL is crawled
+     * @param recorder
+     *            the recorder of each page's harvested URLs and tags, and the
+     *            page's route
+     * @param webDriverFactory
+     *            the factory of the crawl's web driver sessions; called once
+     *            per crawl web driver
+     * @throws CosengException
+     *             the coseng exception; if the test has no valid base URL
+     * @since 3.0
+     * @version.coseng
+     */
+    protected UrlCrawler(Test test, BiConsumer<Map<String, String>, String> recorder,
+            Callable<WebDriverSession> webDriverFactory) throws CosengException {
+        String baseUrl = test.getBaseUrl();
+        try {
+            this.origin = new URL(baseUrl);
+        } catch (MalformedURLException e) {
+            throw new CosengException(
+                    Message.details(test.getName(), "unable to crawl baseUrl [" + baseUrl + "]"),
+                    e);
+        }
+        this.test = test;
+        this.recorder = recorder;
+        this.webDriverFactory = webDriverFactory;
+    }
+
+    /**
+     * Crawl the site. Blocks until every page to the crawl depth has been
+     * loaded; the crawl's web drivers are then stopped in the background.
+     *
+     * @return the load time, in milliseconds, of each crawled page
+     * @throws CosengException
+     *             the coseng exception; if a web driver could not be started
+     *             or the crawl is interrupted
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Map<String, Long> crawl() throws CosengException {
+        int maxDepth = test.getCrawlDepth();
+        int webDrivers = test.getCrawlWebDrivers();
+        ExecutorService executor = Executors.newFixedThreadPool(webDrivers);
+        List<WebDriverSession> sessions = new ArrayList<WebDriverSession>();
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        try {
+            startWebDrivers(executor, webDrivers, sessions);
+            Queue<String> frontier = new ConcurrentLinkedQueue<String>();
+            String start = normalize(origin.toString());
+            visited.add(start);
+            frontier.add(start);
+            for (int depth = 0; depth <= maxDepth && !frontier.isEmpty(); depth++) {
+                final Queue<String> current = frontier;
+                final Queue<String> next =
+                        (depth < maxDepth ? new ConcurrentLinkedQueue<String>() : null);
+                List<Callable<Void>> workers = new ArrayList<Callable<Void>>();
+                for (final WebDriverSession session : sessions) {
+                    workers.add(new Callable<Void>() {
+                        @Override
+                        public Void call() {
+                            String url;
+                            while ((url = current.poll()) != null) {
+                                visit(session.getWebDriver(), url, next);
+                            }
+                            return null;
+                        }
+                    });
+                }
+                log.debug("Test [{}] crawling [{}] pages at depth [{}]", test.getName(),
+                        current.size(), depth);
+                for (Future<Void> worker : executor.invokeAll(workers)) {
+                    getResult(worker);
+                }
+                frontier = next;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CosengException(Message.details(test.getName(), "crawl interrupted"), e);
+        } finally {
+            executor.shutdownNow();
+            for (WebDriverSession session : sessions) {
+                WebDriverTeardown.submit(session.getWebDriver(), session.getWebDriverService());
+            }
+        }
+        stopWatch.stop();
+        log.info("Test [{}] crawled [{}] pages from [{}] to depth [{}] with [{}] web drivers;"
+                + " elapsed time (ms) [{}]", test.getName(), loadMillis.size(), origin, maxDepth,
+                sessions.size(), stopWatch.getTime());
+        return loadMillis;
+    }
+
+    /**
+     * Start the crawl's web drivers at once, one per crawl thread.
+     *
+     * @param executor
+     *            the crawl executor
+     * @param webDrivers
+     *            the web drivers to start
+     * @param sessions
+     *            the started web driver sessions; added to as started
+     * @throws CosengException
+     *             the coseng exception; if a web driver could not be started
+     * @throws InterruptedException
+     *             the interrupted exception
+     * @since 3.0
+     * @version.coseng
+     */
+    private void startWebDrivers(ExecutorService executor, int webDrivers,
+            List<WebDriverSession> sessions) throws CosengException, InterruptedException {
+        List<Future<WebDriverSession>> starts = new ArrayList<Future<WebDriverSession>>();
+        for (int i = 0; i < webDrivers; i++) {
+            starts.add(executor.submit(new Callable<WebDriverSession>() {
+                @Override
+                public WebDriverSession call() throws Exception {
+                    WebDriverSession session = webDriverFactory.call();
+                    session.getWebDriver().manage().timeouts().pageLoadTimeout(
+                            test.getWebDriverTimeoutSeconds(), TimeUnit.SECONDS);
+                    return session;
+                }
+            }));
+        }
+        CosengException failure = null;
+        for (Future<WebDriverSession> start : starts) {
+            try {
+                sessions.add(start.get());
+            } catch (ExecutionException e) {
+                failure = new CosengException(
+                        Message.details(test.getName(), "unable to start crawl web driver"),
+                        e.getCause());
+            }
+        }
+        /* Started web drivers are in sessions so are stopped by the caller */
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Visit a page. Loads the page, records its URLs and load time and adds the
+     * URLs to follow, not yet visited, to the next depth's frontier. A page
+     * that fails to load is logged and skipped.
+     *
+     * @param webDriver
+     *            the web driver
+     * @param url
+     *            the page url
+     * @param next
+     *            the next depth's frontier; null if at the crawl depth
+     * @since 3.0
+     * @version.coseng
+     */
+    private void visit(WebDriver webDriver, String url, Queue<String> next) {
+        try {
+            long startNanos = System.nanoTime();
+            webDriver.get(url);
+            if (test.isAngular2App()) {
+                new NgWebDriver((JavascriptExecutor) webDriver).waitForAngular2RequestsToFinish();
+            }
+            if (test.isWaitForIdle()) {
+                PageActivity.isIdle((JavascriptExecutor) webDriver, test.getIdleQuietMillis(),
+                        TimeUnit.SECONDS.toMillis(test.getWebDriverTimeoutSeconds()));
+            }
+            loadMillis.put(url, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            String route = webDriver.getCurrentUrl();
+            Map<String, String> found = CosengRunner.harvestUrls(webDriver);
+            recorder.accept(found, route);
+            if (next != null) {
+                for (Map.Entry<String, String> urlTag : found.entrySet()) {
+                    if (FOLLOW_TAGS.contains(urlTag.getValue())) {
+                        String link = normalize(urlTag.getKey());
+                        if (link != null && visited.add(link)) {
+                            next.add(link);
+                        }
+                    }
+                }
+            }
+        } catch (WebDriverException e) {
+            log.warn("Test [{}] unable to crawl [{}]", test.getName(), url, e);
+        }
+    }
+
+    /**
+     * Normalize a URL for the frontier; the protocol and host are lower cased,
+     * the protocol's default port and the fragment removed and an empty path
+     * made '/', so the base URL and links to it are one page.
+     *
+     * @param url
+     *            the url
+     * @return the normalized url; null if malformed or not within the origin
+     * @since 3.0
+     * @version.coseng
+     */
+    private String normalize(String url) {
+        try {
+            URL parsed = new URL(url);
+            if (parsed.getProtocol().equalsIgnoreCase(origin.getProtocol())
+                    && parsed.getHost().equalsIgnoreCase(origin.getHost())
+                    && getPort(parsed) == getPort(origin)) {
+                int port = (getPort(parsed) == parsed.getDefaultPort() ? -1 : parsed.getPort());
+                return new URL(parsed.getProtocol().toLowerCase(Locale.ROOT),
+                        parsed.getHost().toLowerCase(Locale.ROOT), port,
+                        (parsed.getFile().isEmpty() ? "/" : parsed.getFile())).toString();
+            }
+        } catch (MalformedURLException e) {
+            // not followed
+        }
+        return null;
+    }
+
+    /**
+     * Gets the port of a URL; the protocol's default port if none.
+     *
+     * @param url
+     *            the url
+     * @return the port
+     * @since 3.0
+     * @version.coseng
+     */
+    private static int getPort(URL url) {
+        return url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+    }
+
+    /**
+     * Gets the result of a crawl worker; workers log and skip failed pages so
+     * any failure is unexpected and logged.
+     *
+     * @param worker
+     *            the worker
+     * @throws InterruptedException
+     *             the interrupted exception
+     * @since 3.0
+     * @version.coseng
+     */
+    private void getResult(Future<Void> worker) throws InterruptedException {
+        try {
+            worker.get();
+        } catch (ExecutionException e) {
+            log.warn("Test [{}] crawl worker failed", test.getName(), e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The Class UrlIndex records found URLs, their tag and the routes each was
+ * found on. Each route is interned once to an integer ID; the routes of a URL
+ * are a bit set of route IDs rather than a set of route strings. Each URL is
+ * held once, as its entry's key. Safe for use from parallel test threads;
+ * routes found for a URL by any thread are merged, never replaced.
+ *
+ * @see com.sios.stc.coseng.run.CosengRunner#findUrls()
+ * @since 3.0
+ * @version.coseng
+ */
+class UrlIndex {
+
+    private final ConcurrentHashMap<String, UrlEntry> urls     =
+            new ConcurrentHashMap<String, UrlEntry>();
+    private final ConcurrentHashMap<String, Integer>  routeIds =
+            new ConcurrentHashMap<String, Integer>();
+    /* Route by ID; guarded by this */
+    private final List<String>                        routes   = new ArrayList<String>();
+
+    /**
+     * Adds the URLs found on a route.
+     *
+     * @param urlTags
+     *            the found URLs and their tag; a null or empty tag does not
+     *            replace a recorded tag
+     * @param route
+     *            the route the URLs were found on; null is recorded as
+     *            "null"
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void add(Map<String, String> urlTags, String route) {
+        int routeId = intern(String.valueOf(route));
+        for (Map.Entry<String, String> urlTag : urlTags.entrySet()) {
+            UrlEntry entry = urls.get(urlTag.getKey());
+            if (entry == null) {
+                urls.putIfAbsent(urlTag.getKey(), new UrlEntry());
+                entry = urls.get(urlTag.getKey());
+            }
+            String tag = urlTag.getValue();
+            synchronized (entry) {
+                if (tag != null && !tag.isEmpty()) {
+                    entry.tag = tag;
+                }
+                entry.routes.set(routeId);
+            }
+        }
+    }
+
+    /**
+     * Gets the URLs.
+     *
+     * @return the URLs; a live, unmodifiable view
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Set<String> getUrls() {
+        return Collections.unmodifiableSet(urls.keySet());
+    }
+
+    /**
+     * Gets the tag of a URL.
+     *
+     * @param url
+     *            the url
+     * @return the tag; null if absent
+     * @since 3.0
+     * @version.coseng
+     */
+    protected String getTag(String url) {
+        UrlEntry entry = (url == null ? null : urls.get(url));
+        if (entry != null) {
+            synchronized (entry) {
+                return entry.tag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the routes a URL was found on.
+     *
+     * @param url
+     *            the url
+     * @return the routes; empty if absent
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Set<String> getRoutes(String url) {
+        Set<String> found = new HashSet<String>();
+        UrlEntry entry = (url == null ? null : urls.get(url));
+        if (entry != null) {
+            BitSet routeBits;
+            synchronized (entry) {
+                routeBits = (BitSet) entry.routes.clone();
+            }
+            synchronized (this) {
+                for (int id = routeBits.nextSetBit(0); id >= 0; id =
+                        routeBits.nextSetBit(id + 1)) {
+                    found.add(routes.get(id));
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Gets the URLs found on a route.
+     *
+     * @param route
+     *            the route
+     * @return the URLs; empty if the route is absent
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Set<String> getUrlsOnRoute(String route) {
+        Set<String> found = new HashSet<String>();
+        Integer routeId = (route == null ? null : routeIds.get(route));
+        if (routeId != null) {
+            for (Map.Entry<String, UrlEntry> url : urls.entrySet()) {
+                UrlEntry entry = url.getValue();
+                synchronized (entry) {
+                    if (entry.routes.get(routeId)) {
+                        found.add(url.getKey());
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Intern a route to its ID.
+     *
+     * @param route
+     *            the route
+     * @return the route ID
+     * @since 3.0
+     * @version.coseng
+     */
+    private int intern(String route) {
+        Integer id = routeIds.get(route);
+        if (id == null) {
+            synchronized (this) {
+                id = routeIds.get(route);
+                if (id == null) {
+                    id = routes.size();
+                    routes.add(route);
+                    routeIds.put(route, id);
+                }
+            }
+        }
+        return id;
+    }
+
+    /**
+     * The Class UrlEntry holds a URL's tag and the IDs of the routes it was
+     * found on. Guarded by its own monitor.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    private static final class UrlEntry {
+        private String       tag    = null;
+        private final BitSet routes = new BitSet();
+    }
+
+}
@@ -0,0 +1,293 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sios.stc.coseng.util.UrlTiming;
+
+/**
+ * The Class UrlReport streams a found URLs report, one row at a time, to a
+ * text, a JSON Lines and a CSV file of the same name. Nothing but the current
+ * row is held in memory. Each file is written to a temporary file in the report
+ * directory and moved into place when saved, so a report is never seen half
+ * written and concurrent saves of the same report do not interleave.
+ * <p>
+ * Each row is either a found URL, of type {@code url}, or a crawled page, of
+ * type {@code page}. JSON Lines rows are objects with fields {@code type},
+ * {@code url} and either {@code tag}, {@code responseCode} (null if not
+ * checked), {@code routes} and, if the URL was timed, {@code requestMethod},
+ * {@code connectMillis}, {@code firstByteMillis}, {@code totalMillis} and
+ * {@code redirects}; or {@code loadMillis}. CSV rows have the columns
+ * {@value #CSV_HEADER}; routes and redirects are separated by a space.
+ *
+ * @see com.sios.stc.coseng.run.CosengRunner#saveUrls()
+ * @see com.sios.stc.coseng.run.CosengRunner#saveAllUrls()
+ * @since 3.0
+ * @version.coseng
+ */
+class UrlReport {
+
+    protected static final String CSV_HEADER =
+            "type,url,tag,responseCode,routes,loadMillis,requestMethod,connectMillis,"
+                    + "firstByteMillis,totalMillis,redirects";
+    private static final String   TYPE_URL   = "url";
+    private static final String   TYPE_PAGE  = "page";
+    private static final String[] EXTENSIONS = { ".txt", ".jsonl", ".csv" };
+    private final File[]          files      = new File[EXTENSIONS.length];
+    private final File[]          temps      = new File[EXTENSIONS.length];
+    private final BufferedWriter  txt;
+    private final BufferedWriter  jsonl;
+    private final BufferedWriter  csv;
+    private boolean               saved      = false;
+
+    /**
+     * Instantiates a new url report; opens its temporary files.
+     *
+     * @param directory
+     *            the report directory; made if absent
+     * @param name
+     *            the report file name without extension
+     * @throws CosengException
+     *             the coseng exception; if the files could not be opened
+     * @since 3.0
+     * @version.coseng
+     */
+    protected UrlReport(File directory, String name) throws CosengException {
+        BufferedWriter[] writers = new BufferedWriter[EXTENSIONS.length];
+        try {
+            FileUtils.forceMkdir(directory);
+            for (int i = 0; i < EXTENSIONS.length; i++) {
+                files[i] = new File(directory, name + EXTENSIONS[i]);
+                temps[i] = File.createTempFile(name, EXTENSIONS[i] + ".tmp", directory);
+                writers[i] = Files.newBufferedWriter(temps[i].toPath(), StandardCharsets.UTF_8);
+            }
+            writers[2].write(CSV_HEADER);
+            writers[2].newLine();
+        } catch (IOException e) {
+            for (BufferedWriter writer : writers) {
+                IOUtils.closeQuietly(writer);
+            }
+            deleteTemps();
+            throw new CosengException("Unable to open URL report [" + name + "] in directory ["
+                    + directory + "]", e);
+        }
+        txt = writers[0];
+        jsonl = writers[1];
+        csv = writers[2];
+    }
+
+    /**
+     * Adds a found url.
+     *
+     * @param url
+     *            the url
+     * @param tag
+     *            the tag
+     * @param responseCode
+     *            the response code; null or 0 if not checked
+     * @param routes
+     *            the routes the url was found on
+     * @param timing
+     *            the timing of the url's check; null if not timed
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void addUrl(String url, String tag, Integer responseCode, Set<String> routes,
+            UrlTiming timing) throws IOException {
+        Integer code = (responseCode == null || responseCode == 0 ? null : responseCode);
+        writeLine(txt, "[" + url + "], tag [" + tag + "], response code ["
+                + (code == null ? "n/a" : code) + "]" + (timing == null ? "" : ", " + timing)
+                + "; found in routes " + routes);
+        JsonObject row = new JsonObject();
+        row.addProperty("type", TYPE_URL);
+        row.addProperty("url", url);
+        row.addProperty("tag", tag);
+        row.addProperty("responseCode", code);
+        JsonArray routeArray = new JsonArray();
+        for (String route : routes) {
+            routeArray.add(route);
+        }
+        row.add("routes", routeArray);
+        if (timing != null) {
+            row.addProperty("requestMethod", timing.getRequestMethod());
+            row.addProperty("connectMillis", timing.getConnectMillis());
+            row.addProperty("firstByteMillis", timing.getFirstByteMillis());
+            row.addProperty("totalMillis", timing.getTotalMillis());
+            JsonArray redirectArray = new JsonArray();
+            for (String redirect : timing.getRedirects()) {
+                redirectArray.add(redirect);
+            }
+            row.add("redirects", redirectArray);
+            writeLine(jsonl, row.toString());
+            writeCsv(TYPE_URL, url, tag, (code == null ? null : code.toString()),
+                    StringUtils.join(routes, " "), null, timing.getRequestMethod(),
+                    Long.toString(timing.getConnectMillis()),
+                    Long.toString(timing.getFirstByteMillis()),
+                    Long.toString(timing.getTotalMillis()),
+                    StringUtils.join(timing.getRedirects(), " "));
+        } else {
+            writeLine(jsonl, row.toString());
+            writeCsv(TYPE_URL, url, tag, (code == null ? null : code.toString()),
+                    StringUtils.join(routes, " "), null, null, null, null, null, null);
+        }
+    }
+
+    /**
+     * Adds a crawled page.
+     *
+     * @param url
+     *            the page url
+     * @param loadMillis
+     *            the page load time in milliseconds
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @see com.sios.stc.coseng.run.CosengRunner#crawlUrls()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void addPage(String url, long loadMillis) throws IOException {
+        writeLine(txt, "Crawled [" + url + "], load time (ms) [" + loadMillis + "]");
+        JsonObject row = new JsonObject();
+        row.addProperty("type", TYPE_PAGE);
+        row.addProperty("url", url);
+        row.addProperty("loadMillis", loadMillis);
+        writeLine(jsonl, row.toString());
+        writeCsv(TYPE_PAGE, url, null, null, null, Long.toString(loadMillis), null, null, null,
+                null, null);
+    }
+
+    /**
+     * Adds a note to the text report only.
+     *
+     * @param note
+     *            the note
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void addNote(String note) throws IOException {
+        writeLine(txt, note);
+    }
+
+    /**
+     * Save the report; closes the files and moves each into place.
+     *
+     * @throws CosengException
+     *             the coseng exception
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void save() throws CosengException {
+        try {
+            txt.close();
+            jsonl.close();
+            csv.close();
+            for (int i = 0; i < EXTENSIONS.length; i++) {
+                Files.move(temps[i].toPath(), files[i].toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+            saved = true;
+        } catch (IOException e) {
+            throw new CosengException("Unable to save URL report [" + files[0] + "]", e);
+        }
+    }
+
+    /**
+     * Discard the report unless saved; closes and deletes the temporary
+     * files. Call in a finally block.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void discard() {
+        if (!saved) {
+            IOUtils.closeQuietly(txt);
+            IOUtils.closeQuietly(jsonl);
+            IOUtils.closeQuietly(csv);
+            deleteTemps();
+        }
+    }
+
+    /**
+     * Delete the temporary files.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    private void deleteTemps() {
+        for (File temp : temps) {
+            FileUtils.deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Write a CSV row; each value escaped, null as empty.
+     *
+     * @param values
+     *            the column values
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @since 3.0
+     * @version.coseng
+     */
+    private void writeCsv(String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.write(',');
+            }
+            if (values[i] != null) {
+                csv.write(StringEscapeUtils.escapeCsv(values[i]));
+            }
+        }
+        csv.newLine();
+    }
+
+    /**
+     * Write a line.
+     *
+     * @param writer
+     *            the writer
+     * @param line
+     *            the line
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @since 3.0
+     * @version.coseng
+     */
+    private static void writeLine(BufferedWriter writer, String line) throws IOException {
+        writer.write(line);
+        writer.newLine();
+    }
+
+}
@@ -32,6 +32,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jdom2.Attribute;
+import org.jdom2.DataConversionException;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
@@ -59,6 +60,7 @@ class Validate {
     private static Node         node;
     private static Tests        tests;
     private static int          testSuiteCount;
+    private static int          webDriverConcurrency;
 
     /**
      * Tests. Validates the node and test parameters for logical combinations
@@ -100,6 +102,18 @@ class Validate {
             tests();
             /* Set the max execution time */
             tests.setMaxTestExecutionMinutes(node.getMaxTestExecutionMinutes());
+            /* Set the web driver teardown bounds */
+            tests.setMaxWebDriverTeardownThreads(node.getMaxWebDriverTeardownThreads());
+            tests.setWebDriverTeardownTimeoutSeconds(node.getWebDriverTeardownTimeoutSeconds());
+            /* Set the test scheduler bounds */
+            tests.setMaxConcurrentTests(node.getMaxConcurrentTests());
+            tests.setMaxConcurrentBrowsers(node.getMaxConcurrentBrowsers());
+            /* Set the URL check bounds */
+            tests.setMaxUrlChecks(node.getMaxUrlChecks());
+            tests.setMaxUrlChecksPerHost(node.getMaxUrlChecksPerHost());
+            tests.setUrlStatusCacheTtlMinutes(node.getUrlStatusCacheTtlMinutes());
+            /* Set the reports directory for the test history and URL cache */
+            tests.setReportsDirectory(node.getReportsDirectory());
         } else {
             throw new CosengException("Node null or 0 tests; nothing to do");
         }
@@ -283,6 +297,29 @@ class Validate {
             if (maxTestExecutionMinutes <= 0) {
                 throw new CosengException("Node maxTestExecutionMinutes invalid; must be > 0");
             }
+            if (node.getMaxWebDriverTeardownThreads() <= 0) {
+                throw new CosengException(
+                        "Node maxWebDriverTeardownThreads invalid; must be > 0");
+            }
+            if (node.getWebDriverTeardownTimeoutSeconds() <= 0) {
+                throw new CosengException(
+                        "Node webDriverTeardownTimeoutSeconds invalid; must be > 0");
+            }
+            if (node.getMaxConcurrentTests() < 0) {
+                throw new CosengException("Node maxConcurrentTests invalid; must be >= 0");
+            }
+            if (node.getMaxConcurrentBrowsers() < 0) {
+                throw new CosengException("Node maxConcurrentBrowsers invalid; must be >= 0");
+            }
+            if (node.getMaxUrlChecks() <= 0) {
+                throw new CosengException("Node maxUrlChecks invalid; must be > 0");
+            }
+            if (node.getMaxUrlChecksPerHost() <= 0) {
+                throw new CosengException("Node maxUrlChecksPerHost invalid; must be > 0");
+            }
+            if (node.getUrlStatusCacheTtlMinutes() < 0) {
+                throw new CosengException("Node urlStatusCacheTtlMinutes invalid; must be >= 0");
+            }
         }
     }
 
@@ -330,7 +367,12 @@ class Validate {
      * @see com.sios.stc.coseng.run.Validate#gridUrl(Test)
      * @see com.sios.stc.coseng.run.Validate#verbosity(Test)
      * @see com.sios.stc.coseng.run.Validate#webDriverTimeout(Test)
+     * @see com.sios.stc.coseng.run.Validate#idleWait(Test)
      * @see com.sios.stc.coseng.run.Validate#webDriverWaitTimeout(Test)
+     * @see com.sios.stc.coseng.run.Validate#webDriverPool(Test)
+     * @see com.sios.stc.coseng.run.Validate#findUrls(Test)
+     * @see com.sios.stc.coseng.run.Validate#crawl(Test)
+     * @see com.sios.stc.coseng.run.Validate#slowUrls(Test)
      * @see com.sios.stc.coseng.run.Validate#warnBaseUrlUndefined(Test)
      * @see com.sios.stc.coseng.run.Validate#warnBrowserRequestVersionForNode(Test)
      * @since 2.0
@@ -348,7 +390,12 @@ class Validate {
             browserDimension(test);
             verbosity(test);
             webDriverTimeout(test);
+            idleWait(test);
             webDriverWaitTimeout(test);
+            webDriverPool(test);
+            findUrls(test);
+            crawl(test);
+            slowUrls(test);
             warnBaseUrlUndefined(test);
             warnBrowserRequestVersionForNode(test);
         }
@@ -534,8 +581,9 @@ class Validate {
             throw new CosengException(
                     Message.details(name, "no suites provided; at least one suite XML REQUIRED"));
         } else {
-            /* Reset counter for next test */
+            /* Reset counters for next test */
             testSuiteCount = 0;
+            webDriverConcurrency = 0;
             List<XmlSuite> xmlSuites = new ArrayList<XmlSuite>();
             XmlSuite xmlSuite = new XmlSuite();
             xmlSuite.setSuiteFiles(modifySuiteXml(name, test.getResourceDirectory(), suites,
@@ -544,6 +592,7 @@ class Validate {
             xmlSuites.add(xmlSuite);
             test.setXmlSuites(xmlSuites);
             test.setTestSuiteCount(testSuiteCount);
+            test.setWebDriverConcurrency(webDriverConcurrency);
         }
     }
 
@@ -580,7 +629,9 @@ class Validate {
      * unique report names and separation of tests based on multiple browsers
      * from the same test suites. Validate that all have parallel="false" if
      * isOneWebDriver 'true'. Does not support parallel="instances". Supports
-     * suite xml that are composed with suite-files.
+     * suite xml that are composed with suite-files. Records the most web
+     * drivers any suite may have started at once; 1 for a suite that is not
+     * parallel otherwise its thread-count.
      *
      * @param name
      *            the name
@@ -602,6 +653,7 @@ class Validate {
             List<String> suites, boolean isOneWebDriver) throws CosengException {
         List<String> modifiedSuites = new ArrayList<String>();
         String attrParallel = "parallel";
+        String attrThreadCount = "thread-count";
         String attrSuiteFiles = "suite-files";
         String attrSuiteFile = "suite-file";
         String attrTest = "test";
@@ -657,6 +709,20 @@ class Validate {
             List<Element> tests = suiteRoot.getChildren(attrTest);
             if (tests != null && !tests.isEmpty()) {
                 testSuiteCount++;
+                int concurrency = 1;
+                if (!parallelFalse.equals(parallelMode.getValue())) {
+                    concurrency = XmlSuite.DEFAULT_THREAD_COUNT;
+                    Attribute threadCount = suiteRoot.getAttribute(attrThreadCount);
+                    if (threadCount != null) {
+                        try {
+                            concurrency = threadCount.getIntValue();
+                        } catch (DataConversionException e) {
+                            throw new CosengException(Message.details(name,
+                                    "suite [" + suite + "] invalid " + attrThreadCount), e);
+                        }
+                    }
+                }
+                webDriverConcurrency = Math.max(webDriverConcurrency, concurrency);
             }
             /* If suite-files modify each suite-file as well */
             for (Element element : suiteRoot.getChildren(attrSuiteFiles)) {
@@ -774,6 +840,29 @@ class Validate {
         }
     }
 
+    /**
+     * Idle wait.
+     *
+     * @param test
+     *            the test
+     * @throws CosengException
+     *             the coseng exception
+     * @see com.sios.stc.coseng.run.Validate#tests()
+     * @since 3.0
+     * @version.coseng
+     */
+    private static void idleWait(Test test) throws CosengException {
+        String name = test.getName();
+        if (test.getIdleQuietMillis() < 0) {
+            throw new CosengException(
+                    Message.details(name, "invalid idleQuietMillis; valid >= 0"));
+        }
+        if (test.isWaitForIdle() && test.getWebDriverTimeoutSeconds() == 0) {
+            log.warn(Message.details(name,
+                    "waitForIdle never idle when webDriverTimeoutSeconds 0; script timeout"));
+        }
+    }
+
     /**
      * Web driver wait timeout.
      *
@@ -794,6 +883,103 @@ class Validate {
         }
     }
 
+    /**
+     * Web driver pool and web driver service sharing.
+     *
+     * @param test
+     *            the test
+     * @throws CosengException
+     *             the coseng exception
+     * @see com.sios.stc.coseng.run.Validate#tests()
+     * @since 3.0
+     * @version.coseng
+     */
+    private static void webDriverPool(Test test) throws CosengException {
+        String name = test.getName();
+        if (test.getWebDriverPoolSize() < 0) {
+            throw new CosengException(
+                    Message.details(name, "invalid webDriverPoolSize; valid >= 0"));
+        }
+        if (test.getWebDriverPoolMaxUses() < 0) {
+            throw new CosengException(
+                    Message.details(name, "invalid webDriverPoolMaxUses; valid >= 0"));
+        }
+        if (test.getWebDriverPoolSize() > 0 && test.isOneWebDriver()) {
+            log.warn(Message.details(name, "webDriverPoolSize ignored when oneWebDriver"));
+        }
+        if (test.isWebDriverPoolWarm() && test.getWebDriverPoolSize() == 0) {
+            log.warn(Message.details(name, "webDriverPoolWarm ignored when webDriverPoolSize 0"));
+        }
+        if (test.isShareWebDriverService() && (!Location.NODE.equals(test.getLocation())
+                || !Browser.CHROME.equals(test.getBrowser()))) {
+            log.warn(Message.details(name, "shareWebDriverService ignored unless location ["
+                    + Location.NODE + "] and browser [" + Browser.CHROME + "]"));
+        }
+    }
+
+    /**
+     * Find urls.
+     *
+     * @param test
+     *            the test
+     * @see com.sios.stc.coseng.run.Validate#tests()
+     * @since 3.0
+     * @version.coseng
+     */
+    private static void findUrls(Test test) {
+        String name = test.getName();
+        if (test.isPrefetchUrlChecks() && !test.isAllowFindUrls()) {
+            log.warn(Message.details(name, "prefetchUrlChecks ignored unless allowFindUrls"));
+        }
+    }
+
+    /**
+     * Crawl.
+     *
+     * @param test
+     *            the test
+     * @throws CosengException
+     *             the coseng exception
+     * @see com.sios.stc.coseng.run.Validate#tests()
+     * @since 3.0
+     * @version.coseng
+     */
+    private static void crawl(Test test) throws CosengException {
+        String name = test.getName();
+        if (test.getCrawlDepth() < 0) {
+            throw new CosengException(Message.details(name, "invalid crawlDepth; valid >= 0"));
+        }
+        if (test.getCrawlWebDrivers() < 1) {
+            throw new CosengException(
+                    Message.details(name, "invalid crawlWebDrivers; valid > 0"));
+        }
+        if (test.getCrawlDepth() > 0 && !test.isAllowFindUrls()) {
+            log.warn(Message.details(name, "crawlDepth ignored unless allowFindUrls"));
+        }
+    }
+
+    /**
+     * Slow urls.
+     *
+     * @param test
+     *            the test
+     * @throws CosengException
+     *             the coseng exception
+     * @see com.sios.stc.coseng.run.Validate#tests()
+     * @since 3.0
+     * @version.coseng
+     */
+    private static void slowUrls(Test test) throws CosengException {
+        String name = test.getName();
+        if (test.getSlowUrlMillis() < 0) {
+            throw new CosengException(
+                    Message.details(name, "invalid slowUrlMillis; valid >= 0"));
+        }
+        if (test.isFailOnSlowUrls() && test.getSlowUrlMillis() == 0) {
+            log.warn(Message.details(name, "failOnSlowUrls ignored when slowUrlMillis 0"));
+        }
+    }
+
     /**
      * Warn base url undefined.
      *
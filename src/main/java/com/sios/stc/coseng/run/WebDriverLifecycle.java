@@ -17,7 +17,13 @@
 package com.sios.stc.coseng.run;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -35,6 +41,7 @@ import org.openqa.selenium.remote.CapabilityType;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.LocalFileDetector;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
 
 import com.sios.stc.coseng.RunTests;
 import com.sios.stc.coseng.run.Browsers.Browser;
@@ -49,28 +56,85 @@ import com.sios.stc.coseng.run.Locations.Location;
  */
 class WebDriverLifecycle {
 
-    private static final int    WEB_DRIVER_SERVICE_IS_RUNNING_TIMEOUT_ATTEMPTS = 10;
-    private static final Long   WEB_DRIVER_SERVICE_IS_RUNNING_TIMEOUT_SLEEP    = 500L;
-    private static final Logger log                                            =
+    private static final long   WEB_DRIVER_SERVICE_READY_TIMEOUT_MILLIS  = 20000L;
+    private static final long   WEB_DRIVER_SERVICE_READY_POLL_MIN_MILLIS = 10L;
+    private static final long   WEB_DRIVER_SERVICE_READY_POLL_MAX_MILLIS = 250L;
+    private static final String WEB_DRIVER_SERVICE_STATUS                = "/status";
+    private static final Logger log                                      =
             LogManager.getLogger(RunTests.class.getName());
 
+    /* Web driver startup latency; comparable across serial/parallel starts */
+    private static final AtomicInteger startCount           = new AtomicInteger();
+    private static final AtomicLong    startTotalMillis     = new AtomicLong();
+    private static final AtomicLong    startMaxMillis       = new AtomicLong();
+    private static final AtomicInteger startInProgress      = new AtomicInteger();
+    private static final AtomicInteger startPeakConcurrency = new AtomicInteger();
+
+    /* One long-lived web driver service per test name; see shareWebDriverService */
+    private static final ConcurrentHashMap<String, DriverService> sharedWebDriverServices =
+            new ConcurrentHashMap<String, DriverService>();
+    /* Web driver service time-to-ready per browser */
+    private static final ConcurrentHashMap<Browser, ReadyTime>    serviceReadyTimes       =
+            new ConcurrentHashMap<Browser, ReadyTime>();
+
     /**
      * Start web driver. Based on test location, platform and browser select and
-     * start the appropriate web driver.
+     * start the appropriate web driver and bind it to the current thread.
      *
      * @param test
      *            the test
      * @throws CosengException
      *             the coseng exception
+     * @see com.sios.stc.coseng.run.WebDriverLifecycle#createWebDriver(Test)
+     * @see com.sios.stc.coseng.run.WebDriverLifecycle#bindWebDriver(WebDriverSession)
      * @see com.sios.stc.coseng.run.CosengRunner
      * @since 2.0
      * @version.coseng
      */
     protected static void startWebDriver(final Test test) throws CosengException {
+        bindWebDriver(createWebDriver(test));
+    }
+
+    /**
+     * Bind a started web driver to the current thread. Makes CosengRunner aware
+     * of the web driver's Selenium tooling for the current thread.
+     *
+     * @param session
+     *            the web driver session; may not be null
+     * @throws CosengException
+     *             the coseng exception
+     * @see com.sios.stc.coseng.run.CosengRunner#setSeleniumTools(WebDriver,
+     *      Object)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void bindWebDriver(final WebDriverSession session) throws CosengException {
+        CosengRunner.setSeleniumTools(session.getWebDriver(), session.getWebDriverService());
+    }
+
+    /**
+     * Create web driver. Based on test location, platform and browser select and
+     * start the appropriate web driver. The web driver is not bound to any
+     * thread.
+     *
+     * @param test
+     *            the test
+     * @return the started web driver session
+     * @throws CosengException
+     *             the coseng exception
+     * @see com.sios.stc.coseng.run.WebDriverLifecycle#bindWebDriver(WebDriverSession)
+     * @see com.sios.stc.coseng.run.WebDriverPool
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static WebDriverSession createWebDriver(final Test test) throws CosengException {
         /*
          * Creating the WebDriver object starts the backing browser instance at
          * once. There is no delay of the instantiation. Make sure ready for it.
          */
+        long startNanos = System.nanoTime();
+        int inProgress = startInProgress.incrementAndGet();
+        startPeakConcurrency.accumulateAndGet(inProgress, Math::max);
         try {
             Location location = test.getLocation();
             Platform platform = test.getPlatform();
@@ -124,11 +188,8 @@ class WebDriverLifecycle {
                 if (Location.NODE.equals(location)) {
                     GeckoDriverService service = new GeckoDriverService.Builder()
                             .usingDriverExecutable(webDriverFile).usingAnyFreePort().build();
-                    service.start();
-                    if (webDriverServiceIsRunning(service)) {
-                        webDriver =
-                                new RemoteWebDriver(((GeckoDriverService) service).getUrl(), dc);
-                    }
+                    startWebDriverService(service, browser);
+                    webDriver = new RemoteWebDriver(service.getUrl(), dc);
                     webDriverService = service;
                 } else {
                     webDriver = new RemoteWebDriver(gridUrl, dc);
@@ -155,13 +216,15 @@ class WebDriverLifecycle {
                 }
                 dc.setCapability(ChromeOptions.CAPABILITY, options);
                 if (Location.NODE.equals(location)) {
-                    ChromeDriverService service = new ChromeDriverService.Builder()
-                            .usingDriverExecutable(webDriverFile).usingAnyFreePort().build();
-                    service.start();
-                    if (webDriverServiceIsRunning(service)) {
-                        webDriver =
-                                new RemoteWebDriver(((ChromeDriverService) service).getUrl(), dc);
+                    ChromeDriverService service;
+                    if (test.isShareWebDriverService()) {
+                        service = sharedChromeDriverService(test);
+                    } else {
+                        service = new ChromeDriverService.Builder()
+                                .usingDriverExecutable(webDriverFile).usingAnyFreePort().build();
+                        startWebDriverService(service, browser);
                     }
+                    webDriver = new RemoteWebDriver(service.getUrl(), dc);
                     webDriverService = service;
                 } else {
                     webDriver = new RemoteWebDriver(gridUrl, dc);
@@ -186,10 +249,8 @@ class WebDriverLifecycle {
                 if (Location.NODE.equals(location)) {
                     EdgeDriverService service = new EdgeDriverService.Builder()
                             .usingDriverExecutable(webDriverFile).usingAnyFreePort().build();
-                    service.start();
-                    if (webDriverServiceIsRunning(service)) {
-                        webDriver = new RemoteWebDriver(((EdgeDriverService) service).getUrl(), dc);
-                    }
+                    startWebDriverService(service, browser);
+                    webDriver = new RemoteWebDriver(service.getUrl(), dc);
                     webDriverService = service;
                 } else {
                     webDriver = new RemoteWebDriver(gridUrl, dc);
@@ -230,11 +291,8 @@ class WebDriverLifecycle {
                             new InternetExplorerDriverService.Builder()
                                     .usingDriverExecutable(webDriverFile).usingAnyFreePort()
                                     .build();
-                    service.start();
-                    if (webDriverServiceIsRunning(service)) {
-                        webDriver = new RemoteWebDriver(
-                                ((InternetExplorerDriverService) service).getUrl(), dc);
-                    }
+                    startWebDriverService(service, browser);
+                    webDriver = new RemoteWebDriver(service.getUrl(), dc);
                     webDriverService = service;
                 } else {
                     webDriver = new RemoteWebDriver(gridUrl, dc);
@@ -248,17 +306,65 @@ class WebDriverLifecycle {
             } else if (test.getBrowserMaximize()) {
                 webDriver.manage().window().maximize();
             }
-            /* Make CosengRunner aware of Selenium tooling */
-            CosengRunner.setSeleniumTools(webDriver, webDriverService);
+            CosengRunner.incrementStartedWebDriverCount();
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            startCount.incrementAndGet();
+            startTotalMillis.addAndGet(millis);
+            startMaxMillis.accumulateAndGet(millis, Math::max);
+            log.debug("Web driver started in [{}] ms; concurrent starts [{}]", millis,
+                    inProgress);
+            return new WebDriverSession(webDriver, webDriverService);
         } catch (Exception e) {
             throw new CosengException(
                     "Error starting web driver; browser/web driver version mismatch?; check for orphaned web driver processes.",
                     e);
+        } finally {
+            startInProgress.decrementAndGet();
         }
     }
 
     /**
-     * Stop web driver.
+     * Gets the average web driver startup latency in milliseconds; from the
+     * start of the web driver request until the web driver is ready for use.
+     *
+     * @return the average startup milliseconds; 0 if no web driver started
+     * @see com.sios.stc.coseng.run.CosengTests#with(String[])
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static long getStartAverageMillis() {
+        int count = startCount.get();
+        return count == 0 ? 0 : startTotalMillis.get() / count;
+    }
+
+    /**
+     * Gets the maximum web driver startup latency in milliseconds.
+     *
+     * @return the maximum startup milliseconds
+     * @see com.sios.stc.coseng.run.CosengTests#with(String[])
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static long getStartMaxMillis() {
+        return startMaxMillis.get();
+    }
+
+    /**
+     * Gets the peak number of web drivers that were starting at the same time.
+     * A value of 1 means the web driver starts were serialized.
+     *
+     * @return the peak concurrent starts
+     * @see com.sios.stc.coseng.run.CosengTests#with(String[])
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static int getStartPeakConcurrency() {
+        return startPeakConcurrency.get();
+    }
+
+    /**
+     * Stop web driver. Blocks until the web driver has quit; see
+     * WebDriverTeardown to stop asynchronously.
      *
      * @param webDriver
      *            the web driver
@@ -267,11 +373,36 @@ class WebDriverLifecycle {
      * @throws CosengException
      *             the coseng exception
      * @see com.sios.stc.coseng.run.CosengRunner
+     * @see com.sios.stc.coseng.run.WebDriverTeardown#submit(WebDriver, Object)
      * @since 2.0
      * @version.coseng
      */
     protected static void stopWebDriver(WebDriver webDriver, Object webDriverService)
             throws CosengException {
+        stopWebDriver(webDriver, webDriverService, isSharedWebDriverService(webDriverService));
+    }
+
+    /**
+     * Stop web driver. Blocks until the web driver has quit. A shared web
+     * driver service is left running; whether the service is shared is decided
+     * by the caller when the stop is requested, as the service leaves the
+     * shared services once its test completes.
+     *
+     * @param webDriver
+     *            the web driver
+     * @param webDriverService
+     *            the web driver service
+     * @param sharedWebDriverService
+     *            true, if the web driver service is shared by the test's web
+     *            drivers
+     * @throws CosengException
+     *             the coseng exception
+     * @see com.sios.stc.coseng.run.WebDriverLifecycle#stopSharedWebDriverService(String)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void stopWebDriver(WebDriver webDriver, Object webDriverService,
+            boolean sharedWebDriverService) throws CosengException {
         try {
             /*
              * Calls 'dispose()'; closes all browser windows and safely ends the
@@ -279,8 +410,11 @@ class WebDriverLifecycle {
              * focus but may cause timeouts when using Selenium GRID Hub
              */
             webDriver.quit();
-            /* WebDriverService is for local/node instances */
-            if (webDriverService != null) {
+            /*
+             * WebDriverService is for local/node instances; a shared service
+             * outlives the web driver and is stopped at the end of the test.
+             */
+            if (webDriverService != null && !sharedWebDriverService) {
                 if (webDriverService instanceof ChromeDriverService) {
                     ((ChromeDriverService) webDriverService).stop();
                 } else if (webDriverService instanceof GeckoDriverService) {
@@ -291,57 +425,243 @@ class WebDriverLifecycle {
                     ((EdgeDriverService) webDriverService).stop();
                 }
             }
+            CosengRunner.incrementStoppedWebDriverCount();
         } catch (Exception e) {
             throw new CosengException("Error stopping web driver", e);
         }
     }
 
     /**
-     * Web driver service is running.
+     * Gets, starting if need be, the chrome driver service shared by all of the
+     * test's web drivers. Chromedriver hosts any number of sessions; sharing
+     * saves a process spawn, a port bind and a readiness wait per web driver.
+     *
+     * @param test
+     *            the test
+     * @return the shared chrome driver service
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws CosengException
+     *             the coseng exception
+     * @see com.sios.stc.coseng.run.Test#isShareWebDriverService()
+     * @since 3.0
+     * @version.coseng
+     */
+    private static ChromeDriverService sharedChromeDriverService(final Test test)
+            throws IOException, CosengException {
+        String name = test.getName();
+        DriverService service = sharedWebDriverServices.get(name);
+        if (service == null || !service.isRunning()) {
+            synchronized (sharedWebDriverServices) {
+                service = sharedWebDriverServices.get(name);
+                if (service == null || !service.isRunning()) {
+                    service = new ChromeDriverService.Builder()
+                            .usingDriverExecutable(test.getWebDriver()).usingAnyFreePort()
+                            .build();
+                    startWebDriverService(service, Browser.CHROME);
+                    sharedWebDriverServices.put(name, service);
+                    log.debug("Started shared web driver service [{}] for test [{}]",
+                            service.getUrl(), name);
+                }
+            }
+        }
+        return (ChromeDriverService) service;
+    }
+
+    /**
+     * Checks if is a shared web driver service.
+     *
+     * @param webDriverService
+     *            the web driver service; null for grid
+     * @return true, if is shared web driver service
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static boolean isSharedWebDriverService(final Object webDriverService) {
+        return webDriverService != null
+                && sharedWebDriverServices.containsValue(webDriverService);
+    }
+
+    /**
+     * Stop the shared web driver service of a test, if any. Called once the
+     * test has completed and all of its web drivers have been stopped.
+     *
+     * @param name
+     *            the test name
+     * @see com.sios.stc.coseng.run.Concurrent#run()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void stopSharedWebDriverService(final String name) {
+        if (name != null) {
+            DriverService service = sharedWebDriverServices.get(name);
+            if (service != null) {
+                /*
+                 * Let the test's web drivers quit before their service stops;
+                 * it stays shared until then so no teardown stops it.
+                 */
+                WebDriverTeardown.await(service);
+                sharedWebDriverServices.remove(name, service);
+                service.stop();
+                log.debug("Stopped shared web driver service for test [{}]", name);
+            }
+        }
+    }
+
+    /**
+     * Start a web driver service and wait until it is ready to accept
+     * sessions. The time from start until ready is recorded for the browser.
      *
      * @param webDriverService
      *            the web driver service
-     * @return true, if successful
+     * @param browser
+     *            the browser the service drives
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
      * @throws CosengException
-     *             the coseng exception
-     * @see com.sios.stc.coseng.run.WebDriverLifecycle#startWebDriver(Test)
-     * @since 2.0
+     *             the coseng exception; if not ready by the deadline
+     * @see com.sios.stc.coseng.run.WebDriverLifecycle#webDriverServiceIsReady(DriverService)
+     * @since 3.0
      * @version.coseng
      */
-    private static boolean webDriverServiceIsRunning(final Object webDriverService)
+    private static void startWebDriverService(final DriverService webDriverService,
+            final Browser browser) throws IOException, CosengException {
+        long startNanos = System.nanoTime();
+        webDriverService.start();
+        if (!webDriverServiceIsReady(webDriverService)) {
+            webDriverService.stop();
+            throw new CosengException("Web driver service [" + webDriverService.getUrl()
+                    + "] not ready within [" + WEB_DRIVER_SERVICE_READY_TIMEOUT_MILLIS + "] ms");
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        ReadyTime readyTime = serviceReadyTimes.get(browser);
+        if (readyTime == null) {
+            serviceReadyTimes.putIfAbsent(browser, new ReadyTime());
+            readyTime = serviceReadyTimes.get(browser);
+        }
+        readyTime.add(millis);
+        log.debug("Web driver service [{}] ready in [{}] ms", webDriverService.getUrl(), millis);
+    }
+
+    /**
+     * Web driver service is ready. Polls the service's status endpoint, with
+     * backed off intervals, until it answers or the deadline passes. The
+     * service may not be fully operational by the time it is referenced for
+     * the RemoteWebDriver instantiation.
+     *
+     * @param webDriverService
+     *            the web driver service
+     * @return true, if ready
+     * @throws CosengException
+     *             the coseng exception; if interrupted while waiting
+     * @see com.sios.stc.coseng.run.WebDriverLifecycle#startWebDriverService(DriverService,
+     *      Browser)
+     * @since 3.0
+     * @version.coseng
+     */
+    private static boolean webDriverServiceIsReady(final DriverService webDriverService)
             throws CosengException {
-        /*
-         * Wait for WeDriverService isRunning to be true for the timeout limit.
-         * The service may not be fully operational by the time it is referenced
-         * for the RemoteWebDriver instantiation.
-         */
-        try {
-            int tryCount = WEB_DRIVER_SERVICE_IS_RUNNING_TIMEOUT_ATTEMPTS;
-            while (tryCount > 0) {
-                if (webDriverService instanceof ChromeDriverService
-                        && ((ChromeDriverService) webDriverService).isRunning()) {
-                    return true;
-                } else if (webDriverService instanceof GeckoDriverService
-                        && ((GeckoDriverService) webDriverService).isRunning()) {
-                    return true;
-                } else if (webDriverService instanceof InternetExplorerDriverService
-                        && ((InternetExplorerDriverService) webDriverService).isRunning()) {
-                    return true;
-                } else if (webDriverService instanceof EdgeDriverService
-                        && ((EdgeDriverService) webDriverService).isRunning()) {
-                    return true;
-                }
-                tryCount--;
-                try {
-                    Thread.sleep(WEB_DRIVER_SERVICE_IS_RUNNING_TIMEOUT_SLEEP);
-                } catch (InterruptedException e) {
-                    log.warn("Timeout reached waiting for webdriver service");
-                    return true;
-                }
+        long deadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(WEB_DRIVER_SERVICE_READY_TIMEOUT_MILLIS);
+        long interval = WEB_DRIVER_SERVICE_READY_POLL_MIN_MILLIS;
+        while (true) {
+            if (webDriverService.isRunning() && statusOk(webDriverService, deadline)) {
+                return true;
+            }
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return false;
             }
+            try {
+                Thread.sleep(Math.min(interval, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CosengException("Interrupted waiting for web driver service", e);
+            }
+            interval = Math.min(interval * 2, WEB_DRIVER_SERVICE_READY_POLL_MAX_MILLIS);
+        }
+    }
+
+    /**
+     * Status ok. Requests the web driver service status endpoint; the connect
+     * and read are each limited to the time left before the deadline.
+     *
+     * @param webDriverService
+     *            the web driver service
+     * @param deadline
+     *            the {@code System.nanoTime()} by which the service must be
+     *            ready
+     * @return true, if the status endpoint answered [200]; false if the
+     *         deadline has passed
+     * @since 3.0
+     * @version.coseng
+     */
+    private static boolean statusOk(final DriverService webDriverService, final long deadline) {
+        /* A timeout of 0 is infinite; never request without time left */
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining <= 0) {
             return false;
-        } catch (Exception e) {
-            throw new CosengException("Error checking webdriver running", e);
+        }
+        HttpURLConnection connection = null;
+        try {
+            URL status = new URL(webDriverService.getUrl(), WEB_DRIVER_SERVICE_STATUS);
+            connection = (HttpURLConnection) status.openConnection();
+            connection.setConnectTimeout((int) remaining);
+            connection.setReadTimeout((int) remaining);
+            return connection.getResponseCode() == HttpURLConnection.HTTP_OK;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Gets the web driver service time-to-ready per browser; the count, average
+     * and maximum milliseconds from service start until it answers its status
+     * endpoint.
+     *
+     * @return the web driver service ready times; empty if no service started
+     * @see com.sios.stc.coseng.run.CosengTests#with(String[])
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static String getServiceReadyTimes() {
+        StringBuilder times = new StringBuilder();
+        for (Browser browser : serviceReadyTimes.keySet()) {
+            if (times.length() > 0) {
+                times.append("; ");
+            }
+            times.append(browser).append(" ").append(serviceReadyTimes.get(browser));
+        }
+        return times.toString();
+    }
+
+    /**
+     * The Class ReadyTime accumulates web driver service time-to-ready.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    private static final class ReadyTime {
+
+        private final AtomicInteger count       = new AtomicInteger();
+        private final AtomicLong    totalMillis = new AtomicLong();
+        private final AtomicLong    maxMillis   = new AtomicLong();
+
+        private void add(long millis) {
+            count.incrementAndGet();
+            totalMillis.addAndGet(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            int c = count.get();
+            return "count [" + c + "], average [" + (c == 0 ? 0 : totalMillis.get() / c)
+                    + "], max [" + maxMillis.get() + "]";
         }
     }
 
@@ -0,0 +1,346 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import com.sios.stc.coseng.RunTests;
+
+/**
+ * The Class WebDriverPool leases started web driver sessions to the TestNG
+ * worker threads of a single COSENG test and takes them back for reuse
+ * instead of quitting them. A returned session is reset; all but one window
+ * closed, the local storage and cookies of the remaining window's origin
+ * cleared and the window navigated to {@code about:blank}. Cookies and
+ * storage are per origin and a web driver can only clear those of the page it
+ * is on, so a session is only reset if it has been on at most one origin;
+ * the origins of the URLs loaded with CosengRunner's webDriverGet and
+ * webDriverNavigateTo and of each window's page at release. A session that
+ * has been on more than one origin is quit.
+ * <p>
+ * The reset does not clear the cookies or storage of an origin left by
+ * following a link, submitting a form, a redirect or a WebDriver call made
+ * outside of CosengRunner, such as a single sign-on identity provider the
+ * session was sent to and back from; nor does it clear the browser cache,
+ * history, or permissions and certificate exceptions granted during the
+ * lease. A test that needs leases isolated from those should set a maximum
+ * use of 1, or not pool.
+ * <p>
+ * A session is quit, rather than returned to the pool, if its reset fails or
+ * it is not reset, if the lease ended in error, if it has reached the maximum
+ * number of uses or if the pool already holds its size of idle sessions. Only
+ * the actual starting and quitting of a web driver is counted in the started
+ * and stopped web driver counts. The pool may be warmed; web drivers started
+ * in the background ahead of the first lease. A lease served by an idle
+ * session is a hit; a lease that has to start a web driver is a miss.
+ *
+ * @see com.sios.stc.coseng.run.CosengListener
+ * @see com.sios.stc.coseng.run.WebDriverLifecycle
+ * @see com.sios.stc.coseng.run.Test#getWebDriverPoolMaxUses()
+ * @since 3.0
+ * @version.coseng
+ */
+class WebDriverPool {
+
+    private static final Logger                           log              =
+            LogManager.getLogger(RunTests.class.getName());
+    private static final String                           BLANK_PAGE       = "about:blank";
+    private static final String                           CLEAR_STORAGE_JS =
+            "try { window.localStorage.clear(); } catch (e) {} "
+                    + "try { window.sessionStorage.clear(); } catch (e) {}";
+    private static final long                             WARM_POLL_MILLIS = 100L;
+    /* Lease hit and miss, and the sessions leased, across all pools */
+    private static final AtomicInteger                    leaseHit         = new AtomicInteger();
+    private static final AtomicInteger                    leaseMiss        = new AtomicInteger();
+    private static final Map<WebDriver, WebDriverSession> leasedSessions   =
+            new ConcurrentHashMap<WebDriver, WebDriverSession>();
+
+    private final Test                                           test;
+    private final int                                            size;
+    private final int                                            maxUses;
+    private final LinkedBlockingDeque<WebDriverSession>          idle      =
+            new LinkedBlockingDeque<WebDriverSession>();
+    private final ConcurrentHashMap<WebDriver, WebDriverSession> leased    =
+            new ConcurrentHashMap<WebDriver, WebDriverSession>();
+    private final AtomicInteger                                  idleCount = new AtomicInteger();
+    private final AtomicInteger                                  warming   = new AtomicInteger();
+    private volatile boolean                                     isDrained = false;
+
+    /**
+     * Instantiates a new web driver pool for a test.
+     *
+     * @param test
+     *            the test whose browser, platform and location sessions are
+     *            started with; may not be null
+     * @param size
+     *            the maximum number of idle sessions kept for reuse
+     * @param maxUses
+     *            the maximum number of leases of a session before it is quit;
+     *            0 for no limit
+     * @see com.sios.stc.coseng.run.Test#getWebDriverPoolSize()
+     * @see com.sios.stc.coseng.run.Test#getWebDriverPoolMaxUses()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected WebDriverPool(Test test, int size, int maxUses) {
+        this.test = test;
+        this.size = size;
+        this.maxUses = maxUses;
+    }
+
+    /**
+     * Warm the pool. Starts web drivers in the background, each kept idle for
+     * the first leases. Returns at once.
+     *
+     * @param count
+     *            the count of web drivers to start; limited to the pool size
+     * @see com.sios.stc.coseng.run.CosengListener#onExecutionStart()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void warm(int count) {
+        count = Math.min(count, size);
+        if (count <= 0) {
+            return;
+        }
+        warming.addAndGet(count);
+        ExecutorService warmer = Executors.newFixedThreadPool(count);
+        for (int i = 0; i < count; i++) {
+            warmer.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        WebDriverSession session = WebDriverLifecycle.createWebDriver(test);
+                        if (isDrained || idleCount.incrementAndGet() > size) {
+                            if (!isDrained) {
+                                idleCount.decrementAndGet();
+                            }
+                            WebDriverTeardown.submit(session.getWebDriver(),
+                                    session.getWebDriverService());
+                        } else {
+                            idle.offerLast(session);
+                        }
+                    } catch (CosengException e) {
+                        log.warn("Unable to warm web driver pool for test [{}]", test.getName(),
+                                e);
+                    } finally {
+                        warming.decrementAndGet();
+                    }
+                }
+            });
+        }
+        warmer.shutdown();
+        log.debug("Warming [{}] web drivers for test [{}]", count, test.getName());
+    }
+
+    /**
+     * Lease a web driver session. An idle session is leased if available. If
+     * the pool is still warming the lease waits for a warming web driver;
+     * otherwise a new web driver is started for the calling thread's test.
+     *
+     * @param threadTest
+     *            the calling thread's test
+     * @return the leased web driver session
+     * @throws CosengException
+     *             the coseng exception
+     * @since 3.0
+     * @version.coseng
+     */
+    protected WebDriverSession lease(Test threadTest) throws CosengException {
+        WebDriverSession session = idle.pollFirst();
+        try {
+            while (session == null && warming.get() > 0) {
+                session = idle.pollFirst(WARM_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CosengException("Interrupted waiting for warming web driver", e);
+        }
+        if (session != null) {
+            idleCount.decrementAndGet();
+            leaseHit.incrementAndGet();
+        } else {
+            leaseMiss.incrementAndGet();
+            session = WebDriverLifecycle.createWebDriver(threadTest == null ? test : threadTest);
+        }
+        leased.put(session.getWebDriver(), session);
+        leasedSessions.put(session.getWebDriver(), session);
+        return session;
+    }
+
+    /**
+     * Release a leased web driver. The session is reset and kept for reuse or
+     * quit if it may no longer be reused.
+     *
+     * @param webDriver
+     *            the leased web driver
+     * @param isError
+     *            true if the lease ended in error; the session will be quit
+     * @return true, if the web driver was quit rather than kept for reuse
+     * @since 3.0
+     * @version.coseng
+     */
+    protected boolean release(WebDriver webDriver, boolean isError) {
+        WebDriverSession session = leased.remove(webDriver);
+        if (session == null) {
+            /* Not leased from this pool; nothing to keep */
+            return false;
+        }
+        leasedSessions.remove(webDriver, session);
+        int uses = session.incrementUses();
+        boolean isEvict = isError || isDrained || (maxUses > 0 && uses >= maxUses);
+        if (!isEvict) {
+            try {
+                if (!reset(session)) {
+                    log.debug("Pooled web driver [{}] was on more than one origin; evicting",
+                            webDriver.hashCode());
+                    isEvict = true;
+                }
+            } catch (Exception e) {
+                log.warn("Unable to reset pooled web driver [{}]; evicting",
+                        webDriver.hashCode(), e);
+                isEvict = true;
+            }
+        }
+        if (!isEvict && idleCount.incrementAndGet() <= size) {
+            idle.offerLast(session);
+            log.debug("Pooled web driver [{}], uses [{}]", webDriver.hashCode(), uses);
+            return false;
+        } else if (!isEvict) {
+            idleCount.decrementAndGet();
+        }
+        WebDriverTeardown.submit(session.getWebDriver(), session.getWebDriverService());
+        log.debug("Evicted pooled web driver [{}], uses [{}]", webDriver.hashCode(), uses);
+        return true;
+    }
+
+    /**
+     * Drain the pool. Quits all idle sessions; sessions still leased are quit
+     * when released.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void drain() {
+        isDrained = true;
+        WebDriverSession session;
+        while ((session = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            WebDriverTeardown.submit(session.getWebDriver(), session.getWebDriverService());
+        }
+    }
+
+    /**
+     * Gets the count of leases, across all pools, served by an idle web driver.
+     *
+     * @return the lease hit count
+     * @see com.sios.stc.coseng.run.CosengTests#with(String[])
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static int getLeaseHitCount() {
+        return leaseHit.get();
+    }
+
+    /**
+     * Gets the count of leases, across all pools, that had to start a web
+     * driver.
+     *
+     * @return the lease miss count
+     * @see com.sios.stc.coseng.run.CosengTests#with(String[])
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static int getLeaseMissCount() {
+        return leaseMiss.get();
+    }
+
+    /**
+     * Record a URL a leased web driver is sent to. Its origin counts against
+     * the reset of the web driver's session; a web driver not leased from a
+     * pool is ignored.
+     *
+     * @param webDriver
+     *            the web driver
+     * @param url
+     *            the url
+     * @see com.sios.stc.coseng.run.CosengRunner#webDriverGet(String)
+     * @see com.sios.stc.coseng.run.CosengRunner#webDriverNavigateTo(java.net.URL)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void visit(WebDriver webDriver, String url) {
+        if (webDriver != null) {
+            WebDriverSession session = leasedSessions.get(webDriver);
+            if (session != null) {
+                session.addOrigin(url);
+            }
+        }
+    }
+
+    /**
+     * Reset a web driver session for the next lease. All but one window are
+     * closed, and the origin of each window's page recorded. The cookies and
+     * storage of the remaining window's origin are then cleared, from that
+     * window, and it is navigated to {@code about:blank}. A session that has
+     * been on more than one origin, or whose only origin is not the remaining
+     * window's, is not reset; its other origins cannot be cleared.
+     *
+     * @param session
+     *            the web driver session
+     * @return true, if reset; false if the session must be quit
+     * @since 3.0
+     * @version.coseng
+     */
+    private static boolean reset(WebDriverSession session) {
+        WebDriver webDriver = session.getWebDriver();
+        Set<String> handles = webDriver.getWindowHandles();
+        Iterator<String> iterator = handles.iterator();
+        String keep = iterator.next();
+        while (iterator.hasNext()) {
+            webDriver.switchTo().window(iterator.next());
+            session.addOrigin(webDriver.getCurrentUrl());
+            webDriver.close();
+        }
+        webDriver.switchTo().window(keep);
+        boolean isOnOrigin = session.addOrigin(webDriver.getCurrentUrl());
+        int origins = session.getOriginCount();
+        if (origins > 1 || (origins == 1 && !isOnOrigin)) {
+            return false;
+        }
+        /* Storage and cookies are per origin; clear while still on the page */
+        ((JavascriptExecutor) webDriver).executeScript(CLEAR_STORAGE_JS);
+        webDriver.manage().deleteAllCookies();
+        webDriver.get(BLANK_PAGE);
+        session.clearOrigins();
+        return true;
+    }
+
+}
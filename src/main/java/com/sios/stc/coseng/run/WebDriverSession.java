@@ -0,0 +1,147 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * The Class WebDriverSession pairs a started web driver with the web driver
+ * service backing it. A session is not bound to any thread; binding to a
+ * thread is made with
+ * {@link com.sios.stc.coseng.run.WebDriverLifecycle#bindWebDriver(WebDriverSession)}.
+ *
+ * @see com.sios.stc.coseng.run.WebDriverLifecycle#createWebDriver(Test)
+ * @see com.sios.stc.coseng.run.WebDriverPool
+ * @since 3.0
+ * @version.coseng
+ */
+class WebDriverSession {
+
+    private final WebDriver   webDriver;
+    private final Object      webDriverService;
+    private final Set<String> origins = ConcurrentHashMap.newKeySet();
+    private int               uses    = 0;
+
+    /**
+     * Instantiates a new web driver session.
+     *
+     * @param webDriver
+     *            the web driver; may not be null
+     * @param webDriverService
+     *            the web driver service; null for grid
+     * @since 3.0
+     * @version.coseng
+     */
+    protected WebDriverSession(WebDriver webDriver, Object webDriverService) {
+        this.webDriver = webDriver;
+        this.webDriverService = webDriverService;
+    }
+
+    /**
+     * Gets the web driver.
+     *
+     * @return the web driver
+     * @since 3.0
+     * @version.coseng
+     */
+    protected WebDriver getWebDriver() {
+        return webDriver;
+    }
+
+    /**
+     * Gets the web driver service.
+     *
+     * @return the web driver service; may be null
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Object getWebDriverService() {
+        return webDriverService;
+    }
+
+    /**
+     * Increment the use count. Called each time the session is returned to a
+     * pool.
+     *
+     * @return the use count
+     * @see com.sios.stc.coseng.run.WebDriverPool#release(WebDriver, boolean)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int incrementUses() {
+        return ++uses;
+    }
+
+    /**
+     * Add the origin of a URL the session has been on. Only http and https
+     * URLs have an origin; others, such as {@code about:blank}, are ignored.
+     *
+     * @param url
+     *            the url
+     * @return true, if the url has an origin
+     * @see com.sios.stc.coseng.run.WebDriverPool#visit(WebDriver, String)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected boolean addOrigin(String url) {
+        if (url == null) {
+            return false;
+        }
+        try {
+            URL urlObj = new URL(url);
+            String protocol = urlObj.getProtocol().toLowerCase();
+            if ("http".equals(protocol) || "https".equals(protocol)) {
+                int port = (urlObj.getPort() == -1 ? urlObj.getDefaultPort() : urlObj.getPort());
+                origins.add(protocol + "://" + urlObj.getHost().toLowerCase() + ":" + port);
+                return true;
+            }
+        } catch (MalformedURLException e) {
+            /* No origin */
+        }
+        return false;
+    }
+
+    /**
+     * Gets the count of origins the session has been on since it was last
+     * reset.
+     *
+     * @return the origin count
+     * @see com.sios.stc.coseng.run.WebDriverPool
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getOriginCount() {
+        return origins.size();
+    }
+
+    /**
+     * Clear the origins the session has been on. Called once the session has
+     * been reset.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void clearOrigins() {
+        origins.clear();
+    }
+
+}
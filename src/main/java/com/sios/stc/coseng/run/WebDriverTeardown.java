@@ -0,0 +1,374 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+
+import com.sios.stc.coseng.RunTests;
+
+/**
+ * The Class WebDriverTeardown stops web drivers asynchronously so a slow
+ * browser shutdown overlaps with the next test's work rather than blocking the
+ * TestNG worker thread. At most the configured number of web drivers are
+ * stopped at once; further stops wait in a queue. A web driver not stopped by
+ * the teardown deadline, counted from when its stop starts, is killed; its
+ * quit is cancelled and its web driver service process stopped. All
+ * teardowns must be awaited before reporting the run.
+ *
+ * @see com.sios.stc.coseng.run.WebDriverLifecycle#stopWebDriver(WebDriver,
+ *      Object)
+ * @see com.sios.stc.coseng.run.CosengTests#with(String[])
+ * @since 3.0
+ * @version.coseng
+ */
+class WebDriverTeardown {
+
+    private static final Logger                   log                     =
+            LogManager.getLogger(RunTests.class.getName());
+    private static final int                      DEFAULT_THREADS         = 4;
+    private static final int                      DEFAULT_TIMEOUT_SECONDS = 60;
+    private static final ScheduledExecutorService killer                  =
+            Executors.newSingleThreadScheduledExecutor(new TeardownThreadFactory("kill"));
+    private static final Set<Teardown>            pending                 =
+            ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger            killedCount             = new AtomicInteger();
+    private static volatile ThreadPoolExecutor    executor                =
+            newExecutor(DEFAULT_THREADS);
+    private static volatile int                   timeoutSeconds          = DEFAULT_TIMEOUT_SECONDS;
+
+    /**
+     * Instantiates a new web driver teardown. Marked private; static use only.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    private WebDriverTeardown() {
+        // do nothing
+    }
+
+    /**
+     * Configure the teardown concurrency and deadline. Must be called before
+     * any web driver is stopped.
+     *
+     * @param threads
+     *            the maximum web drivers stopped at once; must be &gt; 0
+     * @param timeoutSeconds
+     *            the seconds after which a web driver not yet stopped is
+     *            killed; must be &gt; 0
+     * @see com.sios.stc.coseng.run.Node#getMaxWebDriverTeardownThreads()
+     * @see com.sios.stc.coseng.run.Node#getWebDriverTeardownTimeoutSeconds()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static synchronized void configure(int threads, int timeoutSeconds) {
+        if (threads > 0 && threads != executor.getMaximumPoolSize()) {
+            executor.shutdown();
+            executor = newExecutor(threads);
+        }
+        if (timeoutSeconds > 0) {
+            WebDriverTeardown.timeoutSeconds = timeoutSeconds;
+        }
+    }
+
+    /**
+     * Stop a web driver asynchronously. Returns at once; the web driver is
+     * quit, and its web driver service stopped, by a teardown thread.
+     *
+     * @param webDriver
+     *            the web driver; may not be null
+     * @param webDriverService
+     *            the web driver service; null for grid
+     * @see com.sios.stc.coseng.run.WebDriverLifecycle#stopWebDriver(WebDriver,
+     *      Object)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void submit(WebDriver webDriver, Object webDriverService) {
+        Teardown teardown = new Teardown(webDriver, webDriverService);
+        pending.add(teardown);
+        executor.execute(teardown);
+    }
+
+    /**
+     * Await the teardown of the web drivers of a web driver service. Used
+     * before stopping a shared web driver service. Waits to one overall
+     * deadline; a teardown not done by then is killed.
+     *
+     * @param webDriverService
+     *            the web driver service
+     * @see com.sios.stc.coseng.run.WebDriverLifecycle#stopSharedWebDriverService(String)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void await(Object webDriverService) {
+        int count = 0;
+        for (Teardown teardown : pending) {
+            if (teardown.webDriverService == webDriverService) {
+                count++;
+            }
+        }
+        long deadlineNanos = getDeadlineNanos(count);
+        for (Teardown teardown : pending) {
+            if (teardown.webDriverService == webDriverService) {
+                awaitStop(teardown, deadlineNanos);
+            }
+        }
+        for (Teardown teardown : pending) {
+            if (teardown.webDriverService == webDriverService) {
+                teardown.kill();
+            }
+        }
+    }
+
+    /**
+     * Await all teardowns. Waits, to one overall deadline, for every submitted
+     * web driver to be stopped; a teardown not done by then, whether stopping
+     * or still queued, is killed. Releases the teardown threads. Called once
+     * all tests have completed.
+     * <p>
+     * The deadline allows each wave of teardown threads its teardown timeout,
+     * so queued stops are attempted before any is killed.
+     *
+     * @see com.sios.stc.coseng.run.CosengTests#with(String[])
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static void awaitAll() {
+        long deadlineNanos = getDeadlineNanos(pending.size());
+        for (Teardown teardown : pending) {
+            awaitStop(teardown, deadlineNanos);
+        }
+        for (Teardown teardown : pending) {
+            teardown.kill();
+        }
+        executor.shutdown();
+        killer.shutdownNow();
+    }
+
+    /**
+     * Gets the count of web drivers killed at the teardown deadline.
+     *
+     * @return the killed count
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static int getKilledCount() {
+        return killedCount.get();
+    }
+
+    /**
+     * Gets the deadline, in {@code System.nanoTime()}, for a number of
+     * teardowns; one teardown timeout for each wave of teardown threads they
+     * occupy.
+     *
+     * @param teardowns
+     *            the teardowns awaited
+     * @return the deadline nanos
+     * @since 3.0
+     * @version.coseng
+     */
+    private static long getDeadlineNanos(int teardowns) {
+        int threads = executor.getMaximumPoolSize();
+        int waves = Math.max(1, (teardowns + threads - 1) / threads);
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos((long) timeoutSeconds * waves);
+    }
+
+    /**
+     * Await a teardown until the deadline.
+     *
+     * @param teardown
+     *            the teardown
+     * @param deadlineNanos
+     *            the deadline in {@code System.nanoTime()}
+     * @since 3.0
+     * @version.coseng
+     */
+    private static void awaitStop(Teardown teardown, long deadlineNanos) {
+        try {
+            teardown.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            /* Killed by the caller */
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Web driver teardown failed", e);
+        } catch (CancellationException e) {
+            /* Killed at its deadline */
+        }
+    }
+
+    /**
+     * New executor bounded to the given number of teardown threads.
+     *
+     * @param threads
+     *            the threads
+     * @return the thread pool executor
+     * @since 3.0
+     * @version.coseng
+     */
+    private static ThreadPoolExecutor newExecutor(int threads) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new TeardownThreadFactory("stop"));
+    }
+
+    /**
+     * The Class Teardown stops one web driver. Its kill deadline is scheduled
+     * when the stop starts, not when it is queued, so a stop waiting for a
+     * teardown thread is not killed before its quit is attempted. Whether its
+     * web driver service is shared is recorded when the stop is submitted; a
+     * shared service is never stopped by a teardown. A teardown leaves the
+     * pending teardowns once done, cancelled or killed.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    private static final class Teardown extends FutureTask<Void> {
+
+        private final WebDriver     webDriver;
+        private final Object        webDriverService;
+        private final boolean       sharedWebDriverService;
+        private final AtomicBoolean killed = new AtomicBoolean();
+
+        private Teardown(final WebDriver webDriver, final Object webDriverService) {
+            this(webDriver, webDriverService,
+                    WebDriverLifecycle.isSharedWebDriverService(webDriverService));
+        }
+
+        private Teardown(final WebDriver webDriver, final Object webDriverService,
+                final boolean sharedWebDriverService) {
+            super(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        WebDriverLifecycle.stopWebDriver(webDriver, webDriverService,
+                                sharedWebDriverService);
+                    } catch (CosengException e) {
+                        log.warn("Unable to stop web driver [{}]", webDriver.hashCode(), e);
+                    }
+                }
+            }, null);
+            this.webDriver = webDriver;
+            this.webDriverService = webDriverService;
+            this.sharedWebDriverService = sharedWebDriverService;
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                /* Killed while queued */
+                return;
+            }
+            ScheduledFuture<?> deadline = null;
+            try {
+                deadline = killer.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        kill();
+                    }
+                }, timeoutSeconds, TimeUnit.SECONDS);
+            } catch (RejectedExecutionException e) {
+                /* Teardowns awaited; stopped without a deadline */
+            }
+            try {
+                super.run();
+            } finally {
+                if (deadline != null) {
+                    deadline.cancel(false);
+                }
+            }
+        }
+
+        @Override
+        protected void done() {
+            pending.remove(this);
+        }
+
+        /**
+         * Kill the web driver if its teardown is not done. Cancels the quit
+         * and stops the web driver service process; a shared web driver
+         * service is left for the end of its test. Killed at most once.
+         *
+         * @since 3.0
+         * @version.coseng
+         */
+        private void kill() {
+            if (isDone() || !killed.compareAndSet(false, true)) {
+                return;
+            }
+            /* Counted before cancelling; an awaiting caller wakes on cancel */
+            killedCount.incrementAndGet();
+            if (!cancel(true)) {
+                killedCount.decrementAndGet();
+                return;
+            }
+            if (webDriverService instanceof DriverService && !sharedWebDriverService) {
+                try {
+                    ((DriverService) webDriverService).stop();
+                } catch (Exception e) {
+                    log.warn("Unable to kill web driver service", e);
+                }
+            }
+            log.warn("Killed web driver [{}]; teardown exceeded [{}] seconds",
+                    webDriver.hashCode(), timeoutSeconds);
+        }
+    }
+
+    /**
+     * The Class TeardownThreadFactory creates named daemon teardown threads.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    private static final class TeardownThreadFactory implements ThreadFactory {
+
+        private final String        name;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private TeardownThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread =
+                    new Thread(runnable, "coseng-teardown-" + name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
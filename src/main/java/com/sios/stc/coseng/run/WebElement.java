@@ -16,6 +16,9 @@
  */
 package com.sios.stc.coseng.run;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
@@ -23,9 +26,11 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -46,9 +51,41 @@ public class WebElement {
     // common DOM attributes and values
     public static final String ATTR_INPUT_VALUE = "value";
 
-    private static final String            TAG_NAME_INPUT    = "input";
-    private static final String            TAG_NAME_TEXTAREA = "textarea";
-    private static final String            BY_CSS_SELECTOR   = "By.cssSelector: ";
+    private static final String            TAG_NAME_INPUT       = "input";
+    private static final String            TAG_NAME_TEXTAREA    = "textarea";
+    private static final String            BY_CSS_SELECTOR      = "By.cssSelector: ";
+    /*
+     * Element state in one script execution; text as getText() would, the
+     * rendered text trimmed with non-breaking spaces as spaces, empty if not
+     * displayed; attributes as getAttribute() would, property first
+     */
+    private static final String            SNAPSHOT_FUNCTION_JS =
+            "function snap(e, names) { var tag = e.tagName.toLowerCase();"
+                    + "var r = e.getBoundingClientRect(), s = window.getComputedStyle(e);"
+                    + "var displayed = (r.width > 0 || r.height > 0"
+                    + " || e.getClientRects().length > 0) && s.visibility !== 'hidden'"
+                    + " && s.display !== 'none';"
+                    + "var text = (tag === 'input' || tag === 'textarea') ? e.value"
+                    + " : (displayed ? (e.innerText || '').replace(/\\u00a0/g, ' ').trim() : '');"
+                    + "var attributes = {};"
+                    + "for (var i = 0; i < names.length; i++) { var v = e[names[i]];"
+                    + " if (v === undefined || v === null || typeof v === 'object'"
+                    + " || typeof v === 'function') { v = e.getAttribute(names[i]); }"
+                    + " attributes[names[i]] = (v === undefined || v === null || v === false)"
+                    + " ? null : String(v); }"
+                    + "return { tagName: tag, text: (text == null ? null : String(text)),"
+                    + " displayed: displayed, enabled: !e.disabled,"
+                    + " selected: !!(e.selected || e.checked), attributes: attributes,"
+                    + " x: Math.round(r.left + window.pageXOffset),"
+                    + " y: Math.round(r.top + window.pageYOffset),"
+                    + " width: Math.round(r.width), height: Math.round(r.height) }; }";
+    private static final String            SNAPSHOT_JS          =
+            SNAPSHOT_FUNCTION_JS + "return snap(arguments[0], arguments[1]);";
+    /* Snapshot of each element of a list in one script execution */
+    protected static final String          SNAPSHOTS_JS         =
+            SNAPSHOT_FUNCTION_JS + "var found = []; for (var i = 0; i < arguments[0].length;"
+                    + " i++) { found.push(snap(arguments[0][i], arguments[1])); }"
+                    + " return found;";
     private org.openqa.selenium.WebElement webElement;
     private By                             by;
     private WebDriver                      webDriver;
@@ -56,6 +93,7 @@ public class WebElement {
     private NgWebDriver                    ngWebDriver;
     private Actions                        actions;
     private JavascriptExecutor             jsExecutor;
+    private PageActivity                   pageActivity;
     private Test                           test;
 
     /**
@@ -93,7 +131,27 @@ public class WebElement {
     }
 
     /**
-     * Sets the web drivers.
+     * Instantiates a new web element bound to selenium tools already resolved.
+     * No context is looked up; used to wrap many web elements found at once.
+     *
+     * @param webElement
+     *            the web element
+     * @param test
+     *            the test; may not be null
+     * @param tools
+     *            the selenium tools; may not be null
+     * @see com.sios.stc.coseng.run.WebElements#findAll()
+     * @since 3.0
+     * @version.coseng
+     */
+    protected WebElement(org.openqa.selenium.WebElement webElement, Test test,
+            CosengContext.SeleniumTools tools) {
+        bind(test, tools);
+        this.webElement = webElement;
+    }
+
+    /**
+     * Sets the web drivers. The current thread's context is looked up once.
      *
      * @throws CosengException
      *             the coseng exception
@@ -101,22 +159,55 @@ public class WebElement {
      * @version.coseng
      */
     private void setWebDrivers() throws CosengException {
-        webDriver = CosengRunner.getWebDriver();
-        webDriverWait = CosengRunner.getWebDriverWait();
-        ngWebDriver = CosengRunner.getNgWebDriver();
-        actions = CosengRunner.getActions();
-        jsExecutor = CosengRunner.getJavascriptExecutor();
-        test = CosengRunner.getTest();
-        if (webDriver == null || webDriverWait == null || ngWebDriver == null || actions == null
-                || jsExecutor == null || test == null) {
+        CosengContext context = CosengRunner.getContext();
+        Test test = (context == null ? null : context.getTest());
+        CosengContext.SeleniumTools tools = (context == null ? null : context.getSeleniumTools());
+        if (test == null || tools == null) {
             throw new CosengException("Selenium tools corrupt; nothing to do");
         }
+        bind(test, tools);
+    }
+
+    /**
+     * Bind the web element to a test and its selenium tools.
+     *
+     * @param test
+     *            the test
+     * @param tools
+     *            the selenium tools
+     * @since 3.0
+     * @version.coseng
+     */
+    private void bind(Test test, CosengContext.SeleniumTools tools) {
+        this.test = test;
+        webDriver = tools.getWebDriver();
+        webDriverWait = tools.getWebDriverWait();
+        ngWebDriver = tools.getNgWebDriver();
+        actions = tools.getActions();
+        jsExecutor = tools.getJavascriptExecutor();
+        pageActivity = tools.getPageActivity();
+    }
+
+    /**
+     * Wait for the page to be ready as the test requires; for Angular2
+     * requests to finish, for the page to be idle or neither. Skipped if the
+     * page has not been active since the last wait.
+     *
+     * @see com.sios.stc.coseng.run.PageActivity#waitForReady(Test, NgWebDriver,
+     *      JavascriptExecutor)
+     * @since 3.0
+     * @version.coseng
+     */
+    private void waitForReady() {
+        pageActivity.waitForReady(test, ngWebDriver, jsExecutor);
     }
 
     /**
-     * Gets the web element.
+     * Gets the web element. Acting on the page through it bypasses the page
+     * activity; mark the page changed after.
      *
      * @return the org.openqa.selenium. web element
+     * @see com.sios.stc.coseng.run.CosengRunner#pageChanged()
      * @since 2.0
      * @version.coseng
      */
@@ -158,9 +249,7 @@ public class WebElement {
     public boolean find() {
         if (webDriver != null && by != null) {
             try {
-                if (test.isAngular2App()) {
-                    ngWebDriver.waitForAngular2RequestsToFinish();
-                }
+                waitForReady();
                 webElement = webDriver.findElement(by);
                 return true;
             } catch (NoSuchElementException e) {
@@ -178,10 +267,9 @@ public class WebElement {
      */
     public void click() {
         if (webElement != null) {
-            if (test.isAngular2App()) {
-                ngWebDriver.waitForAngular2RequestsToFinish();
-            }
+            waitForReady();
             actions.moveToElement(webElement).click().build().perform();
+            pageActivity.changed();
         }
     }
 
@@ -211,6 +299,7 @@ public class WebElement {
     public void clear() {
         if (isInput()) {
             webElement.clear();
+            pageActivity.changed();
         }
     }
 
@@ -225,6 +314,7 @@ public class WebElement {
             jsExecutor.executeScript(
                     "arguments[0].style.left='auto';arguments[0].style.visibility='visible';arguments[0].style.display='block'",
                     webElement);
+            pageActivity.changed();
         }
     }
 
@@ -239,6 +329,7 @@ public class WebElement {
             jsExecutor.executeScript(
                     "arguments[0].style.left='initial';arguments[0].style.visibility='hidden';arguments[0].style.visibility='none'",
                     webElement);
+            pageActivity.changed();
         }
     }
 
@@ -268,12 +359,146 @@ public class WebElement {
      * @version.coseng
      */
     public boolean isInput() {
-        if (webElement != null && webElement.getTagName() != null
-                && (webElement.getTagName().equals(TAG_NAME_INPUT)
-                        || webElement.getTagName().equals(TAG_NAME_TEXTAREA))) {
-            return true;
+        return webElement != null && isInputTagName(webElement.getTagName());
+    }
+
+    /**
+     * Checks if a tag name is of an input; an input or textarea.
+     *
+     * @param tagName
+     *            the tag name
+     * @return true, if is input tag name
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static boolean isInputTagName(String tagName) {
+        return TAG_NAME_INPUT.equals(tagName) || TAG_NAME_TEXTAREA.equals(tagName);
+    }
+
+    /**
+     * Snapshot the web element's state; its tag, text, displayed, enabled and
+     * selected state, the requested attributes and its bounding rectangle.
+     * Read with one script execution; if the script fails each state is read
+     * in turn.
+     *
+     * @param attributes
+     *            the attributes to read
+     * @return the web element snapshot; null if no web element
+     * @throws StaleElementReferenceException
+     *             if the web element has been removed from the DOM
+     * @see com.sios.stc.coseng.run.WebElementSnapshot
+     * @since 3.0
+     * @version.coseng
+     */
+    public WebElementSnapshot snapshot(String... attributes) {
+        if (webElement == null) {
+            return null;
         }
-        return false;
+        waitForReady();
+        if (jsExecutor != null) {
+            try {
+                return toSnapshot(jsExecutor.executeScript(SNAPSHOT_JS, webElement,
+                        Arrays.asList(attributes)), attributes);
+            } catch (StaleElementReferenceException e) {
+                throw e;
+            } catch (WebDriverException | ClassCastException e) {
+                // do nothing; read each state in turn
+            }
+        }
+        return snapshotByCalls(attributes);
+    }
+
+    /**
+     * Snapshot the web element's state reading each state in turn; one wire
+     * call per state and attribute.
+     *
+     * @param attributes
+     *            the attributes to read
+     * @return the web element snapshot; null if no web element
+     * @see com.sios.stc.coseng.run.WebElement#snapshot(String...)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected WebElementSnapshot snapshotByCalls(String... attributes) {
+        if (webElement == null) {
+            return null;
+        }
+        String tagName = webElement.getTagName();
+        Map<String, String> attributeValues = new LinkedHashMap<String, String>();
+        for (String attribute : attributes) {
+            attributeValues.put(attribute, webElement.getAttribute(attribute));
+        }
+        return new WebElementSnapshot(tagName,
+                (isInputTagName(tagName) ? webElement.getAttribute(ATTR_INPUT_VALUE)
+                        : webElement.getText()),
+                webElement.isDisplayed(), webElement.isEnabled(), webElement.isSelected(),
+                attributeValues, new Rectangle(webElement.getLocation(), webElement.getSize()));
+    }
+
+    /**
+     * Convert the state returned by the snapshot script to a snapshot.
+     *
+     * @param state
+     *            the state returned by the snapshot script
+     * @param attributes
+     *            the attributes read
+     * @return the web element snapshot
+     * @throws ClassCastException
+     *             if the state is not as the script returns
+     * @see com.sios.stc.coseng.run.WebElements#snapshots(String...)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static WebElementSnapshot toSnapshot(Object state, String... attributes) {
+        Map<?, ?> values = toMap(state);
+        Map<?, ?> attributeStates = toMap(values.get("attributes"));
+        Map<String, String> attributeValues = new LinkedHashMap<String, String>();
+        for (String attribute : attributes) {
+            Object value = attributeStates.get(attribute);
+            attributeValues.put(attribute, (value == null ? null : value.toString()));
+        }
+        return new WebElementSnapshot((String) values.get("tagName"),
+                (String) values.get("text"), Boolean.TRUE.equals(values.get("displayed")),
+                Boolean.TRUE.equals(values.get("enabled")),
+                Boolean.TRUE.equals(values.get("selected")), attributeValues,
+                new Rectangle(toInt(values.get("x")), toInt(values.get("y")),
+                        toInt(values.get("height")), toInt(values.get("width"))));
+    }
+
+    /**
+     * Cast a state returned by the snapshot script to a map.
+     *
+     * @param state
+     *            the state
+     * @return the map
+     * @throws ClassCastException
+     *             if the state is not a map
+     * @since 3.0
+     * @version.coseng
+     */
+    private static Map<?, ?> toMap(Object state) {
+        if (!(state instanceof Map)) {
+            throw new ClassCastException("Snapshot state [" + state + "] is not a map");
+        }
+        return (Map<?, ?>) state;
+    }
+
+    /**
+     * Cast a number returned by the snapshot script to an int.
+     *
+     * @param number
+     *            the number
+     * @return the int
+     * @throws ClassCastException
+     *             if not a number
+     * @since 3.0
+     * @version.coseng
+     */
+    private static int toInt(Object number) {
+        if (!(number instanceof Number)) {
+            throw new ClassCastException("Snapshot value [" + number + "] is not a number");
+        }
+        return ((Number) number).intValue();
     }
 
     /**
@@ -354,7 +579,10 @@ public class WebElement {
     }
 
     /**
-     * Text match by.
+     * Text match by. Matched against the text as WebDriver reads it; the
+     * courtesy wait for the text is made only if the text does not already
+     * match. To match against a snapshot's rendered text instead, see
+     * {@link com.sios.stc.coseng.run.WebElementSnapshot#textContains(String)}.
      *
      * @param text
      *            the text
@@ -363,39 +591,58 @@ public class WebElement {
      * @param wait
      *            the wait
      * @return true, if successful
+     * @see com.sios.stc.coseng.run.WebElement#getText()
      * @since 2.0
      * @version.coseng
      */
     private boolean textMatchBy(String text, MatchBy matchBy, boolean wait) {
         boolean matched = false;
         if (webElement != null) {
-            if (test.isAngular2App()) {
-                ngWebDriver.waitForAngularRequestsToFinish();
-            }
+            /* Reading the text waits for the page to be ready */
+            matched = textMatches(getText(), text, matchBy);
             /* Courtesy wait until text present; if timeout will be false */
-            if (!isInput() && wait && text != null) {
+            if (!matched && wait && text != null && !isInput()) {
                 try {
                     webDriverWait.until((Function<? super WebDriver, Boolean>) ExpectedConditions
                             .textToBePresentInElement(webElement, text));
+                    matched = textMatches(getText(), text, matchBy);
                 } catch (TimeoutException e) {
                     // do nothing; will be false
                 }
             }
-            String elementText = getText();
-            if (elementText != null) {
-                if (text == null && MatchBy.EMPTY.equals(matchBy)) {
-                    if (elementText.isEmpty()) {
-                        matched = true;
-                    }
-                } else if (MatchBy.CONTAIN.equals(matchBy)) {
-                    if (elementText.contains(text)) {
-                        matched = true;
-                    }
-                } else {
-                    // default matcher
-                    if (elementText.equals(text)) {
-                        matched = true;
-                    }
+        }
+        return matched;
+    }
+
+    /**
+     * Text matches.
+     *
+     * @param elementText
+     *            the element text
+     * @param text
+     *            the text
+     * @param matchBy
+     *            the match by
+     * @return true, if successful
+     * @see com.sios.stc.coseng.run.WebElementSnapshot#textContains(String)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static boolean textMatches(String elementText, String text, MatchBy matchBy) {
+        boolean matched = false;
+        if (elementText != null) {
+            if (text == null && MatchBy.EMPTY.equals(matchBy)) {
+                if (elementText.isEmpty()) {
+                    matched = true;
+                }
+            } else if (MatchBy.CONTAIN.equals(matchBy)) {
+                if (elementText.contains(text)) {
+                    matched = true;
+                }
+            } else {
+                // default matcher
+                if (elementText.equals(text)) {
+                    matched = true;
                 }
             }
         }
@@ -460,7 +707,9 @@ public class WebElement {
     }
 
     /**
-     * Attribute match by.
+     * Attribute match by. The attribute is read once, as WebDriver reads it.
+     * To match against a snapshot's attribute instead, see
+     * {@link com.sios.stc.coseng.run.WebElementSnapshot#attributeContains(String, String)}.
      *
      * @param attribute
      *            the attribute
@@ -473,10 +722,31 @@ public class WebElement {
      * @version.coseng
      */
     private boolean attributeMatchBy(String attribute, String value, MatchBy matchBy) {
+        String attributeValue = null;
+        if (attribute != null && value != null && webElement != null) {
+            attributeValue = webElement.getAttribute(attribute);
+        }
+        return attributeMatches(attributeValue, value, matchBy);
+    }
+
+    /**
+     * Attribute matches.
+     *
+     * @param attributeValue
+     *            the attribute value; null if absent
+     * @param value
+     *            the value
+     * @param matchBy
+     *            the match by
+     * @return true, if successful
+     * @see com.sios.stc.coseng.run.WebElementSnapshot#attributeContains(String, String)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static boolean attributeMatches(String attributeValue, String value,
+            MatchBy matchBy) {
         boolean matched = false;
-        if (attribute != null && value != null && webElement != null
-                && webElement.getAttribute(attribute) != null) {
-            String attributeValue = webElement.getAttribute(attribute);
+        if (attributeValue != null && value != null) {
             if (MatchBy.CONTAIN.equals(matchBy)) {
                 if (attributeValue.contains(value)) {
                     matched = true;
@@ -623,9 +893,7 @@ public class WebElement {
                 sendKey = key;
             }
             if (sendKey != null) {
-                if (test.isAngular2App()) {
-                    ngWebDriver.waitForAngular2RequestsToFinish();
-                }
+                waitForReady();
                 if (pauseMs > 0) {
                     /*
                      * As of 2016-12-21 The Microsoft Edge and IE web driver are
@@ -655,6 +923,7 @@ public class WebElement {
                                 .perform();
                     }
                 }
+                pageActivity.changed();
             }
         }
     }
@@ -668,6 +937,7 @@ public class WebElement {
     public void moveTo() {
         if (actions != null && webElement != null) {
             actions.moveToElement(webElement).build().perform();
+            pageActivity.changed();
         }
     }
 
@@ -690,9 +960,7 @@ public class WebElement {
      * @version.coseng
      */
     public String getText() {
-        if (test.isAngular2App()) {
-            ngWebDriver.waitForAngular2RequestsToFinish();
-        }
+        waitForReady();
         if (isInput()) {
             return webElement.getAttribute(ATTR_INPUT_VALUE);
         }
@@ -0,0 +1,271 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openqa.selenium.Rectangle;
+
+import com.sios.stc.coseng.run.Matcher.MatchBy;
+
+/**
+ * The Class WebElementSnapshot holds the state of a web element read at one
+ * moment; its tag, text, displayed, enabled and selected state, the requested
+ * attributes and its bounding rectangle. A snapshot is read with one script
+ * execution so checks against it cost one wire call rather than one per
+ * state. A snapshot is not updated; take another to see changes.
+ *
+ * @see com.sios.stc.coseng.run.WebElement#snapshot(String...)
+ * @since 3.0
+ * @version.coseng
+ */
+public class WebElementSnapshot {
+
+    private final String              tagName;
+    private final String              text;
+    private final boolean             displayed;
+    private final boolean             enabled;
+    private final boolean             selected;
+    private final Map<String, String> attributes;
+    private final Rectangle           rect;
+
+    /**
+     * Instantiates a new web element snapshot.
+     *
+     * @param tagName
+     *            the tag name
+     * @param text
+     *            the text; the value of an input
+     * @param displayed
+     *            the displayed
+     * @param enabled
+     *            the enabled
+     * @param selected
+     *            the selected
+     * @param attributes
+     *            the requested attributes; null value if absent
+     * @param rect
+     *            the bounding rectangle
+     * @since 3.0
+     * @version.coseng
+     */
+    protected WebElementSnapshot(String tagName, String text, boolean displayed, boolean enabled,
+            boolean selected, Map<String, String> attributes, Rectangle rect) {
+        this.tagName = tagName;
+        this.text = text;
+        this.displayed = displayed;
+        this.enabled = enabled;
+        this.selected = selected;
+        this.attributes =
+                Collections.unmodifiableMap(new LinkedHashMap<String, String>(attributes));
+        this.rect = rect;
+    }
+
+    /**
+     * Gets the tag name.
+     *
+     * @return the tag name
+     * @since 3.0
+     * @version.coseng
+     */
+    public String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Checks if is input; an input or textarea.
+     *
+     * @return true, if is input
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean isInput() {
+        return WebElement.isInputTagName(tagName);
+    }
+
+    /**
+     * Gets the text. The value of an input; otherwise the rendered text.
+     *
+     * @return the text
+     * @see com.sios.stc.coseng.run.WebElement#getText()
+     * @since 3.0
+     * @version.coseng
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Text contains. Matched against the snapshot's text; the rendered text,
+     * whose white space and hidden content may differ from WebDriver's
+     * getText(). Use {@link com.sios.stc.coseng.run.WebElement#textContains(String)}
+     * to match as WebDriver reads the text.
+     *
+     * @param text
+     *            the text
+     * @return true, if successful
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean textContains(String text) {
+        return WebElement.textMatches(this.text, text, MatchBy.CONTAIN);
+    }
+
+    /**
+     * Text equals. Matched against the snapshot's text.
+     *
+     * @param text
+     *            the text
+     * @return true, if successful
+     * @see com.sios.stc.coseng.run.WebElementSnapshot#textContains(String)
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean textEquals(String text) {
+        return WebElement.textMatches(this.text, text, MatchBy.EQUAL);
+    }
+
+    /**
+     * Text empty. Matched against the snapshot's text.
+     *
+     * @return true, if successful
+     * @see com.sios.stc.coseng.run.WebElementSnapshot#textContains(String)
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean textEmpty() {
+        return WebElement.textMatches(this.text, null, MatchBy.EMPTY);
+    }
+
+    /**
+     * Checks if is displayed.
+     *
+     * @return true, if is displayed
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    /**
+     * Checks if is enabled.
+     *
+     * @return true, if is enabled
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks if is selected.
+     *
+     * @return true, if is selected
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean isSelected() {
+        return selected;
+    }
+
+    /**
+     * Gets a requested attribute.
+     *
+     * @param attribute
+     *            the attribute
+     * @return the attribute value; null if absent or not requested
+     * @since 3.0
+     * @version.coseng
+     */
+    public String getAttribute(String attribute) {
+        return attributes.get(attribute);
+    }
+
+    /**
+     * Attribute contains. Matched against the requested attribute as read by
+     * the snapshot; an attribute not requested never matches.
+     *
+     * @param attribute
+     *            the attribute
+     * @param value
+     *            the value
+     * @return true, if successful
+     * @see com.sios.stc.coseng.run.WebElement#attributeContains(String, String)
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean attributeContains(String attribute, String value) {
+        return WebElement.attributeMatches(attributes.get(attribute), value, MatchBy.CONTAIN);
+    }
+
+    /**
+     * Attribute equals. Matched against the requested attribute as read by the
+     * snapshot; an attribute not requested never matches.
+     *
+     * @param attribute
+     *            the attribute
+     * @param value
+     *            the value
+     * @return true, if successful
+     * @see com.sios.stc.coseng.run.WebElement#attributeEquals(String, String)
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean attributeEquals(String attribute, String value) {
+        return WebElement.attributeMatches(attributes.get(attribute), value, MatchBy.EQUAL);
+    }
+
+    /**
+     * Gets the requested attributes.
+     *
+     * @return the attributes
+     * @since 3.0
+     * @version.coseng
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Gets the bounding rectangle; relative to the page.
+     *
+     * @return the rect
+     * @since 3.0
+     * @version.coseng
+     */
+    public Rectangle getRect() {
+        return rect;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "tagName [" + tagName + "], text [" + text + "], displayed [" + displayed
+                + "], enabled [" + enabled + "], selected [" + selected + "], attributes "
+                + attributes + ", rect [" + rect.getX() + ", " + rect.getY() + ", "
+                + rect.getWidth() + " x " + rect.getHeight() + "]";
+    }
+
+}
@@ -17,16 +17,27 @@
 package com.sios.stc.coseng.run;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import com.paulhammant.ngwebdriver.NgWebDriver;
 
 /**
  * The Class WebElements holds the collection of
- * com.sios.stc.coseng.run.WebElement.
+ * com.sios.stc.coseng.run.WebElement. The bulk reads, such as
+ * {@code getTexts()} and {@code countVisible()}, read the state of every web
+ * element of the collection with one script execution; call
+ * {@code findAll()} first to read the current DOM.
  *
  * @since 2.0
  * @version.coseng
@@ -165,36 +176,36 @@ public class WebElements implements Iterable<WebElement> {
             }
             return true;
         } else {
-            webDriver = CosengRunner.getWebDriver();
-            if (webDriver != null) {
+            /* Resolve the context once; shared by every web element found */
+            CosengContext context = CosengRunner.getContext();
+            Test test = (context == null ? null : context.getTest());
+            CosengContext.SeleniumTools tools =
+                    (context == null ? null : context.getSeleniumTools());
+            if (test != null && tools != null) {
+                webDriver = tools.getWebDriver();
                 /*
                  * MUST create empty web elements; otherwise the collection just
                  * grows containing previous - and now stale - web elements.
                  */
-                webElements = new ArrayList<WebElement>();
                 List<org.openqa.selenium.WebElement> seleniumWebElements =
                         webDriver.findElements(by);
                 if (seleniumWebElements != null) {
+                    webElements = new ArrayList<WebElement>(seleniumWebElements.size());
                     for (org.openqa.selenium.WebElement seleniumWebElement : seleniumWebElements) {
-                        try {
-                            WebElement webElement = new WebElement(seleniumWebElement);
-                            /*
-                             * DO NOT SET WEB ELEMENT "BY"! If a find()
-                             * attempted on the web element elsewhere, the
-                             * expected value will likely not be returned if it
-                             * exists. A By used for newWebElements(By) will
-                             * almost certainly be a globbed xpath or similar.
-                             * The consequence is that to prevent stale elements
-                             * findAll() must be re-executed on DOM changes.
-                             */
-                            webElements.add(webElement);
-                        } catch (CosengException e) {
-                            return false;
-                        }
+                        /*
+                         * DO NOT SET WEB ELEMENT "BY"! If a find() attempted
+                         * on the web element elsewhere, the expected value will
+                         * likely not be returned if it exists. A By used for
+                         * newWebElements(By) will almost certainly be a globbed
+                         * xpath or similar. The consequence is that to prevent
+                         * stale elements findAll() must be re-executed on DOM
+                         * changes.
+                         */
+                        webElements.add(new WebElement(seleniumWebElement, test, tools));
                     }
                     return true;
                 }
-
+                webElements = new ArrayList<WebElement>();
             }
         }
         return false;
@@ -219,6 +230,173 @@ public class WebElements implements Iterable<WebElement> {
         return true;
     }
 
+    /**
+     * All visible; read with one script execution rather than asking each web
+     * element in turn. The script's visibility test follows, but is not, the
+     * web driver's {@code isDisplayed()}; prefer {@code allVisible()} where
+     * the two may differ.
+     *
+     * @return true, if successful; false if a web element has been removed
+     *         from the DOM
+     * @see com.sios.stc.coseng.run.WebElements#allVisible()
+     * @see com.sios.stc.coseng.run.WebElements#countVisible()
+     * @since 3.0
+     * @version.coseng
+     */
+    public boolean allVisibleByScript() {
+        if (!findAll()) {
+            return false;
+        }
+        try {
+            return countVisible() == webElements.size();
+        } catch (StaleElementReferenceException e) {
+            /* Web element removed from DOM */
+            return false;
+        }
+    }
+
+    /**
+     * Snapshot each web element of the collection. Read with one script
+     * execution; if the script fails each web element is read in turn.
+     *
+     * @param attributes
+     *            the attributes to read
+     * @return the snapshots; in collection order, null for a web element not
+     *         found
+     * @throws StaleElementReferenceException
+     *             if a web element has been removed from the DOM
+     * @see com.sios.stc.coseng.run.WebElement#snapshot(String...)
+     * @since 3.0
+     * @version.coseng
+     */
+    public List<WebElementSnapshot> snapshots(String... attributes) {
+        List<WebElementSnapshot> snapshots =
+                new ArrayList<WebElementSnapshot>(webElements.size());
+        List<org.openqa.selenium.WebElement> found =
+                new ArrayList<org.openqa.selenium.WebElement>(webElements.size());
+        for (WebElement webElement : webElements) {
+            if (webElement != null && webElement.get() != null) {
+                found.add(webElement.get());
+            }
+        }
+        if (!found.isEmpty()) {
+            /* Read only; does not mark the page changed */
+            CosengContext context = CosengRunner.getContext();
+            Test test = (context == null ? null : context.getTest());
+            NgWebDriver ngWebDriver = (context == null ? null : context.getNgWebDriver());
+            JavascriptExecutor jsExecutor =
+                    (context == null ? null : context.getJavascriptExecutor());
+            PageActivity pageActivity = (context == null ? null : context.getPageActivity());
+            if (test != null && ngWebDriver != null && pageActivity != null) {
+                pageActivity.waitForReady(test, ngWebDriver, jsExecutor);
+            }
+            if (jsExecutor != null) {
+                try {
+                    Object states = jsExecutor.executeScript(WebElement.SNAPSHOTS_JS, found,
+                            Arrays.asList(attributes));
+                    if (states instanceof List && ((List<?>) states).size() == found.size()) {
+                        int state = 0;
+                        for (WebElement webElement : webElements) {
+                            snapshots.add(webElement == null || webElement.get() == null ? null
+                                    : WebElement.toSnapshot(((List<?>) states).get(state++),
+                                            attributes));
+                        }
+                        return snapshots;
+                    }
+                } catch (StaleElementReferenceException e) {
+                    throw e;
+                } catch (WebDriverException | ClassCastException e) {
+                    /* Read each in turn */
+                    snapshots.clear();
+                }
+            }
+        }
+        for (WebElement webElement : webElements) {
+            snapshots.add(webElement == null ? null : webElement.snapshotByCalls(attributes));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Gets the text of each web element of the collection; the value of an
+     * input.
+     *
+     * @return the texts; in collection order, null for a web element not
+     *         found
+     * @see com.sios.stc.coseng.run.WebElements#snapshots(String...)
+     * @since 3.0
+     * @version.coseng
+     */
+    public List<String> getTexts() {
+        List<String> texts = new ArrayList<String>(webElements.size());
+        for (WebElementSnapshot snapshot : snapshots()) {
+            texts.add(snapshot == null ? null : snapshot.getText());
+        }
+        return texts;
+    }
+
+    /**
+     * Gets attributes of each web element of the collection.
+     *
+     * @param attributes
+     *            the attributes
+     * @return the attribute values of each web element; in collection order,
+     *         null for a web element not found
+     * @see com.sios.stc.coseng.run.WebElements#snapshots(String...)
+     * @since 3.0
+     * @version.coseng
+     */
+    public List<Map<String, String>> getAttributes(String... attributes) {
+        List<Map<String, String>> values = new ArrayList<Map<String, String>>(webElements.size());
+        for (WebElementSnapshot snapshot : snapshots(attributes)) {
+            values.add(snapshot == null ? null : snapshot.getAttributes());
+        }
+        return values;
+    }
+
+    /**
+     * Count the displayed web elements of the collection.
+     *
+     * @return the count of displayed web elements
+     * @see com.sios.stc.coseng.run.WebElements#snapshots(String...)
+     * @since 3.0
+     * @version.coseng
+     */
+    public int countVisible() {
+        int visible = 0;
+        for (WebElementSnapshot snapshot : snapshots()) {
+            if (snapshot != null && snapshot.isDisplayed()) {
+                visible++;
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Filter the web elements of the collection by their snapshot.
+     *
+     * @param predicate
+     *            the predicate; tested against each web element's snapshot
+     * @param attributes
+     *            the attributes the predicate reads
+     * @return the web elements matched; in collection order
+     * @see com.sios.stc.coseng.run.WebElements#snapshots(String...)
+     * @since 3.0
+     * @version.coseng
+     */
+    public List<WebElement> filter(Predicate<WebElementSnapshot> predicate,
+            String... attributes) {
+        List<WebElement> matched = new ArrayList<WebElement>();
+        List<WebElementSnapshot> snapshots = snapshots(attributes);
+        for (int i = 0; i < snapshots.size(); i++) {
+            WebElementSnapshot snapshot = snapshots.get(i);
+            if (snapshot != null && predicate.test(snapshot)) {
+                matched.add(webElements.get(i));
+            }
+        }
+        return matched;
+    }
+
     /**
      * Clear all the web element.
      *
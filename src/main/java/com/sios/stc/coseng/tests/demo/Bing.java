@@ -45,7 +45,7 @@ public class Bing extends CosengRunner {
 
         /* Get the url and assure on correct route. */
         logTestStep("navigating to url [" + url + "] and assuring search form available]");
-        webDriver.get(url);
+        webDriverGet(url);
         logAssert.assertTrue(currentUrlContains(url), "current URL should contain [" + url + "]");
 
         /* Get a COSENG WebElement object, find it and assure displayed */
@@ -78,7 +78,7 @@ public class Bing extends CosengRunner {
 
         /* Get the url and assure on correct route. */
         logTestStep("navigating to url [" + url + "] and assuring help button available");
-        webDriver.get(url);
+        webDriverGet(url);
         logAssert.assertTrue(currentUrlContains(url), "current URL should contain [" + url + "]");
 
         /* Get a COSENG WebElement object, find it and assure displayed */
@@ -46,7 +46,7 @@ public class Google extends CosengRunner {
 
         /* Get the url and assure on correct route. */
         logTestStep("navigating to url [" + url + "] and assuring search form available");
-        webDriver.get(url);
+        webDriverGet(url);
         logAssert.assertTrue(currentUrlContains(redirectedUrl),
                 "Current URL should contain [" + redirectedUrl + "]");
 
@@ -80,7 +80,7 @@ public class Google extends CosengRunner {
 
         /* Get the url and assure on correct route. */
         logTestStep("navigating to url [" + url + "] and assuring Carrers links available");
-        webDriver.get(url);
+        webDriverGet(url);
         logAssert.assertTrue(currentUrlContains(url), "current URL should contain [" + url + "]");
 
         /* Get a COSENG WebElement object, find it and assure displayed */
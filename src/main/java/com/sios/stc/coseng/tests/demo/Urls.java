@@ -47,6 +47,10 @@ public class Urls extends CosengRunner {
         skipUrls.add("http://host/path");
         skipUrls.add("mailto:support@host");
 
+        /* Crawl the site from baseUrl; nothing crawled unless crawlDepth > 0 */
+        logMessage("crawling URLs");
+        crawlUrls();
+
         /* Check all found links accessible */
         logMessage("saving URLs");
         saveAllUrls();
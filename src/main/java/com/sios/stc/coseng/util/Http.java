@@ -16,22 +16,39 @@
  */
 package com.sios.stc.coseng.util;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
 import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
 import java.net.URL;
+import java.net.UnknownHostException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 
-import org.apache.commons.lang3.time.StopWatch;
+import org.apache.commons.io.IOUtils;
+
+import com.sios.stc.coseng.run.CosengException;
 
 /**
  * The Class Http offers conveniences to discern state of Http resrouces.
@@ -41,12 +58,37 @@ import org.apache.commons.lang3.time.StopWatch;
  */
 public class Http {
 
-    private static final String         sysPropUserAgent     = "http.agent";
-    private static final String         requestMethodDefault = "HEAD";
-    private static final String         userAgentNew         =
+    private static final String            userAgentHeader             = "User-Agent";
+    private static final String            requestMethodDefault        = "HEAD";
+    private static final String            locationHeader              = "Location";
+    private static final int               maxRedirects                = 10;
+    private static final long              retryMillis                 = 100L;
+    private static final String            userAgentNew                =
             "Mozilla/5.0 (X11; Linux x86_64; rv:49.0) Gecko/20100101 Firefox/49.0";
-    private static int                  millisTimeoutDefault = 3000;
-    private static Map<String, Integer> urlsResponseCode     = new HashMap<String, Integer>();
+    private static final int               maxChecksDefault            = 16;
+    private static final int               drainBufferBytes            = 4096;
+    private static final int               maxChecksPerHostDefault     = 4;
+    private static final SSLSocketFactory  trustAllSocketFactory       =
+            createTrustAllSocketFactory();
+    /* Don't verify host names */
+    private static final HostnameVerifier  trustAllHostnameVerifier    = new HostnameVerifier() {
+        public boolean verify(String urlHostName, SSLSession session) {
+            return true;
+        }
+    };
+    private static int                     millisConnectTimeoutDefault = 3000;
+    private static int                     millisReadTimeoutDefault    = 3000;
+    private static Map<String, Integer>    urlsResponseCode            =
+            new ConcurrentHashMap<String, Integer>();
+    private static Map<String, UrlTiming>  urlsTiming                  =
+            new ConcurrentHashMap<String, UrlTiming>();
+    /* Probe in flight by normalized url; shared by concurrent checks */
+    private static final ConcurrentHashMap<String, Flight> urlsInFlight =
+            new ConcurrentHashMap<String, Flight>();
+    private static final AtomicLong        probeCount                  = new AtomicLong();
+    private static final AtomicLong        coalescedCount              = new AtomicLong();
+    private static HttpCheckPool           checkPool                   = null;
+    private static volatile UrlStatusCache statusCache                 = null;
 
     /**
      * Checks if http url is accessible.
@@ -68,31 +110,360 @@ public class Http {
      * @param url
      *            the url
      * @param millisTimeout
-     *            the millisecond timeout
+     *            the millisecond timeout; for both connect and read
      * @return true, if is accessible
-     * @see com.sios.stc.coseng.util.Http#connect(String, Integer, String,
-     *      boolean)
-     * @see com.sios.stc.coseng.util.Http#accessibleResponseCode(int)
+     * @see com.sios.stc.coseng.util.Http#isAccessible(String, Integer, Integer)
      * @since 2.1
      * @version.coseng
      */
     public static boolean isAccessible(String url, Integer millisTimeout) {
-        int responseCode = connect(url, millisTimeout, null, false);
+        return isAccessible(url, millisTimeout, millisTimeout);
+    }
+
+    /**
+     * Checks if http url is accessible. Safe to call from parallel threads;
+     * no JVM wide state is changed. Concurrent checks of the same normalized
+     * url share one probe; a check made while another is in flight waits for
+     * and returns its result, with the in flight check's timeouts. The
+     * response code and timing of a shared probe are kept under each
+     * checked url.
+     *
+     * @param url
+     *            the url
+     * @param connectMillisTimeout
+     *            the millisecond timeout to connect; if null the default
+     * @param readMillisTimeout
+     *            the millisecond timeout to read the response; if null the
+     *            default
+     * @return true, if is accessible
+     * @see com.sios.stc.coseng.util.Http#probe(String, Integer, Integer)
+     * @see com.sios.stc.coseng.util.Http#getCoalescedCount()
+     * @since 3.0
+     * @version.coseng
+     */
+    public static boolean isAccessible(String url, Integer connectMillisTimeout,
+            Integer readMillisTimeout) {
+        if (url == null) {
+            return probe(url, connectMillisTimeout, readMillisTimeout);
+        }
+        String key = normalize(url);
+        Flight flight = new Flight(url);
+        Flight inFlight = urlsInFlight.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            coalescedCount.incrementAndGet();
+            boolean isAccessible = inFlight.join();
+            inFlight.share(url);
+            return isAccessible;
+        }
+        try {
+            boolean isAccessible = probe(url, connectMillisTimeout, readMillisTimeout);
+            flight.landed(isAccessible);
+            return isAccessible;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            urlsInFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Probe a http url for accessibility; the status cache, when set, is
+     * consulted first. The probe, including its attempt with a browser user
+     * agent and every redirect, must end by one deadline; the connect plus the
+     * read timeout from its start. The timing of the whole probe is kept; a
+     * URL answered from the status cache is not timed.
+     *
+     * @param url
+     *            the url
+     * @param connectMillisTimeout
+     *            the millisecond timeout to connect; if null the default
+     * @param readMillisTimeout
+     *            the millisecond timeout to read the response; if null the
+     *            default
+     * @return true, if is accessible
+     * @see com.sios.stc.coseng.util.Http#connect(String, Check, String, boolean)
+     * @see com.sios.stc.coseng.util.Http#accessibleResponseCode(int)
+     * @see com.sios.stc.coseng.util.Http#getTiming(String)
+     * @see com.sios.stc.coseng.util.HttpCheckPool
+     * @since 3.0
+     * @version.coseng
+     */
+    protected static boolean probe(String url, Integer connectMillisTimeout,
+            Integer readMillisTimeout) {
+        probeCount.incrementAndGet();
+        UrlStatusCache cache = statusCache;
+        if (cache != null && url != null) {
+            Integer cachedResponseCode = cache.get(url);
+            if (cachedResponseCode != null) {
+                urlsResponseCode.put(url, cachedResponseCode);
+                return accessibleResponseCode(cachedResponseCode);
+            }
+        }
+        Check check = new Check(connectMillisTimeout, readMillisTimeout);
+        UrlTiming timing = connect(url, check, null, false);
         boolean isAccessible = false;
         /* Any 200 level through 300 level identified as success */
-        if (accessibleResponseCode(responseCode)) {
+        if (accessibleResponseCode(timing.getResponseCode())) {
             isAccessible = true;
         } else {
-            /* Attempt again with modified user agent */
-            responseCode = connect(url, millisTimeout, null, true);
-            if (accessibleResponseCode(responseCode)) {
+            /* Attempt again with modified user agent; within the same deadline */
+            timing = connect(url, check, null, true);
+            if (accessibleResponseCode(timing.getResponseCode())) {
                 isAccessible = true;
             }
         }
-        urlsResponseCode.put(url, responseCode);
+        int responseCode = timing.getResponseCode();
+        if (url != null) {
+            urlsResponseCode.put(url, responseCode);
+            urlsTiming.put(url, timing);
+            if (cache != null) {
+                cache.put(url, responseCode);
+            }
+        }
         return isAccessible;
     }
 
+    /**
+     * Checks if http url is accessible in the background.
+     *
+     * @param url
+     *            the url
+     * @return the future accessibility of the url
+     * @see com.sios.stc.coseng.util.Http#isAccessibleAsync(String, Integer)
+     * @since 3.0
+     * @version.coseng
+     */
+    public static CompletableFuture<Boolean> isAccessibleAsync(String url) {
+        return isAccessibleAsync(url, null);
+    }
+
+    /**
+     * Checks if http url is accessible in the background. The check is queued
+     * when the maximum checks, or maximum checks against the url's host, are
+     * already running. A check of a normalized url already in flight, in the
+     * background or not, is shared rather than queued again; its response
+     * code and timing are kept under each checked url.
+     *
+     * @param url
+     *            the url
+     * @param millisTimeout
+     *            the millisecond timeout
+     * @return the future accessibility of the url
+     * @see com.sios.stc.coseng.util.Http#isAccessible(String, Integer)
+     * @see com.sios.stc.coseng.util.Http#setMaxChecks(int, int)
+     * @since 3.0
+     * @version.coseng
+     */
+    public static CompletableFuture<Boolean> isAccessibleAsync(String url,
+            Integer millisTimeout) {
+        if (url == null) {
+            return getCheckPool().submit(url, millisTimeout);
+        }
+        final String key = normalize(url);
+        final Flight flight = new Flight(url);
+        final Flight inFlight = urlsInFlight.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            coalescedCount.incrementAndGet();
+            return inFlight.thenApply(isAccessible -> {
+                inFlight.share(url);
+                return isAccessible;
+            });
+        }
+        getCheckPool().submit(url, millisTimeout).whenComplete((isAccessible, error) -> {
+            urlsInFlight.remove(key, flight);
+            if (error != null) {
+                flight.completeExceptionally(error);
+            } else {
+                flight.landed(isAccessible);
+            }
+        });
+        return flight;
+    }
+
+    /**
+     * Gets the count of url probes made; each answered from the status cache
+     * or over the network.
+     *
+     * @return the probe count
+     * @since 3.0
+     * @version.coseng
+     */
+    public static long getProbeCount() {
+        return probeCount.get();
+    }
+
+    /**
+     * Gets the count of url checks that shared a probe already in flight
+     * rather than probe again.
+     *
+     * @return the coalesced count
+     * @see com.sios.stc.coseng.util.Http#isAccessible(String, Integer, Integer)
+     * @since 3.0
+     * @version.coseng
+     */
+    public static long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Normalize a url as the key of its in flight check. The protocol and host
+     * are lower cased, the protocol's default port and the fragment removed.
+     * A malformed url is its own key.
+     *
+     * @param url
+     *            the url
+     * @return the normalized url
+     * @since 3.0
+     * @version.coseng
+     */
+    private static String normalize(String url) {
+        try {
+            URL parsed = new URL(url);
+            int port = parsed.getPort();
+            if (port == parsed.getDefaultPort()) {
+                port = -1;
+            }
+            return new URL(parsed.getProtocol().toLowerCase(Locale.ROOT),
+                    parsed.getHost().toLowerCase(Locale.ROOT), port,
+                    (parsed.getFile().isEmpty() ? "/" : parsed.getFile())).toString();
+        } catch (MalformedURLException e) {
+            return url;
+        }
+    }
+
+    /**
+     * Checks if each http url is accessible in the background. Wait on the
+     * whole batch with {@code CompletableFuture.allOf}.
+     *
+     * @param urls
+     *            the urls
+     * @return the future accessibility of each url; in the order of the urls
+     * @see com.sios.stc.coseng.util.Http#isAccessibleAsync(String, Integer)
+     * @since 3.0
+     * @version.coseng
+     */
+    public static Map<String, CompletableFuture<Boolean>> isAccessibleAsync(
+            Collection<String> urls) {
+        Map<String, CompletableFuture<Boolean>> accessible =
+                new LinkedHashMap<String, CompletableFuture<Boolean>>();
+        if (urls != null) {
+            for (String url : urls) {
+                if (!accessible.containsKey(url)) {
+                    accessible.put(url, isAccessibleAsync(url, null));
+                }
+            }
+        }
+        return accessible;
+    }
+
+    /**
+     * Sets the maximum background checks running at once. Checks already
+     * submitted complete under the previous maximums.
+     *
+     * @param maxChecks
+     *            the maximum checks running at once; ignored if &lt;= 0
+     * @param maxChecksPerHost
+     *            the maximum checks running at once against one host; ignored
+     *            if &lt;= 0
+     * @see com.sios.stc.coseng.util.Http#isAccessibleAsync(String, Integer)
+     * @since 3.0
+     * @version.coseng
+     */
+    public static synchronized void setMaxChecks(int maxChecks, int maxChecksPerHost) {
+        checkPool = new HttpCheckPool(maxChecks > 0 ? maxChecks : maxChecksDefault,
+                maxChecksPerHost > 0 ? maxChecksPerHost : maxChecksPerHostDefault);
+    }
+
+    /**
+     * Sets the URL status cache. While set, a URL checked within the time to
+     * live is answered from the cache rather than checked again. Fresh entries
+     * are loaded from the cache file.
+     *
+     * @param file
+     *            the cache file
+     * @param ttlMinutes
+     *            the minutes a checked URL's response code is kept; &lt;= 0
+     *            for no cache
+     * @throws CosengException
+     *             the coseng exception; if the cache file could not be read
+     * @see com.sios.stc.coseng.util.Http#saveStatusCache()
+     * @since 3.0
+     * @version.coseng
+     */
+    public static void setStatusCache(File file, int ttlMinutes) throws CosengException {
+        if (file != null && ttlMinutes > 0) {
+            statusCache = new UrlStatusCache(file, ttlMinutes);
+        } else {
+            statusCache = null;
+        }
+    }
+
+    /**
+     * Save the URL status cache to its file; if set.
+     *
+     * @throws CosengException
+     *             the coseng exception
+     * @see com.sios.stc.coseng.util.Http#setStatusCache(File, int)
+     * @since 3.0
+     * @version.coseng
+     */
+    public static void saveStatusCache() throws CosengException {
+        UrlStatusCache cache = statusCache;
+        if (cache != null) {
+            cache.save();
+        }
+    }
+
+    /**
+     * Checks for a URL status cache.
+     *
+     * @return true, if set
+     * @since 3.0
+     * @version.coseng
+     */
+    public static boolean hasStatusCache() {
+        return statusCache != null;
+    }
+
+    /**
+     * Gets the count of URL checks answered from the status cache.
+     *
+     * @return the status cache hit count
+     * @since 3.0
+     * @version.coseng
+     */
+    public static int getStatusCacheHitCount() {
+        UrlStatusCache cache = statusCache;
+        return (cache == null ? 0 : cache.getHitCount());
+    }
+
+    /**
+     * Gets the count of URL checks not answered from the status cache.
+     *
+     * @return the status cache miss count
+     * @since 3.0
+     * @version.coseng
+     */
+    public static int getStatusCacheMissCount() {
+        UrlStatusCache cache = statusCache;
+        return (cache == null ? 0 : cache.getMissCount());
+    }
+
+    /**
+     * Gets the check pool; created with the default maximums if not set.
+     *
+     * @return the check pool
+     * @since 3.0
+     * @version.coseng
+     */
+    private static synchronized HttpCheckPool getCheckPool() {
+        if (checkPool == null) {
+            checkPool = new HttpCheckPool(maxChecksDefault, maxChecksPerHostDefault);
+        }
+        return checkPool;
+    }
+
     /**
      * Accessible response code. Response code >= 200 and <= 399 is considered
      * accessible.
@@ -121,11 +492,37 @@ public class Http {
      * @version.coseng
      */
     public static Integer getResponseCode(String url) {
-        return urlsResponseCode.get(url);
+        return (url == null ? null : urlsResponseCode.get(url));
     }
 
     /**
-     * Connect. Accepts invalid SSL certs. Derived code.
+     * Gets the timing of the last check of a url.
+     *
+     * @param url
+     *            the url
+     * @return the url timing; null if not checked or answered from the status
+     *         cache
+     * @see com.sios.stc.coseng.util.Http#isAccessible(String, Integer, Integer)
+     * @since 3.0
+     * @version.coseng
+     */
+    public static UrlTiming getTiming(String url) {
+        return (url == null ? null : urlsTiming.get(url));
+    }
+
+    /**
+     * Connect. Accepts invalid SSL certs; on this connection only, the JVM
+     * default SSL socket factory and host name verifier are left untouched.
+     * The user agent is set as a request header of this connection only. The
+     * response is drained and closed so the underlying connection is kept
+     * alive for reuse by the next request to the same host. Redirects are
+     * followed, up to the maximum, so each is timed and recorded; unlike
+     * HttpURLConnection's own redirects, those between http and https are
+     * followed too. A malformed url, or one not http or https, is not
+     * requested; a refused connection or unknown host is not attempted again.
+     * Other failures are attempted again, after a short sleep, until the
+     * connect timeout from the start of the check. No request is made past the
+     * check's deadline. Derived code.
      * 
      * @link http://stackoverflow.com/questions/13778635/checking-status-of-website-in-java
      * @link http://stackexchange.com/users/347553/bhavik-ambani
@@ -136,82 +533,310 @@ public class Http {
      *
      * @param url
      *            the url
-     * @param millisTimeout
-     *            the millis timeout
-     * @return the int
-     * @see com.sios.stc.coseng.util.Http#isAccessible(String, Integer)
+     * @param check
+     *            the check; its timeouts, deadline and timing so far
+     * @param requestMethod
+     *            the request method; if null HEAD
+     * @param changeUserAgent
+     *            true to request with a browser user agent
+     * @return the url timing of the check so far; response code 0 if unable to
+     *         connect
+     * @see com.sios.stc.coseng.util.Http#isAccessible(String, Integer, Integer)
+     * @see com.sios.stc.coseng.util.Http#request(URL, Check, String, boolean)
      * @since 2.1
      * @version.coseng
      */
-    private static int connect(String url, Integer millisTimeout, String requestMethod,
+    private static UrlTiming connect(String url, Check check, String requestMethod,
             boolean changeUserAgent) {
+        if (requestMethod == null || requestMethod.isEmpty()) {
+            requestMethod = requestMethodDefault;
+        }
         if (url != null && !url.isEmpty()) {
-            String userAgentOriginal = System.getProperty(sysPropUserAgent);
-            if (millisTimeout == null || millisTimeout <= 0) {
-                millisTimeout = millisTimeoutDefault;
+            URL location = toHttpUrl(url);
+            while (location != null && check.getRemainingMillis() > 0) {
+                try {
+                    return request(location, check, requestMethod, changeUserAgent);
+                } catch (ConnectException | UnknownHostException e) {
+                    /* Refused or no such host; another attempt would fail alike */
+                    break;
+                } catch (IOException e) {
+                    // do nothing; will be 0
+                }
+                long retryWindowMillis = check.getRetryWindowMillis();
+                if (retryWindowMillis <= 0) {
+                    break;
+                }
+                try {
+                    Thread.sleep(Math.min(retryMillis, retryWindowMillis));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
-            if (requestMethod == null || requestMethod.isEmpty()) {
-                requestMethod = requestMethodDefault;
+        }
+        return check.getTiming(requestMethod, 0, new ArrayList<String>());
+    }
+
+    /**
+     * Parse a http or https url.
+     *
+     * @param url
+     *            the url
+     * @return the url; null if malformed or not http or https, such as a
+     *         javascript: or mailto: url
+     * @since 3.0
+     * @version.coseng
+     */
+    private static URL toHttpUrl(String url) {
+        try {
+            URL parsed = new URL(url);
+            String protocol = parsed.getProtocol();
+            if ("http".equalsIgnoreCase(protocol) || "https".equalsIgnoreCase(protocol)) {
+                return parsed;
             }
+        } catch (MalformedURLException e) {
+            // do nothing; not a http url
+        }
+        return null;
+    }
+
+    /**
+     * Request a url, following and timing its redirects. A redirect to a url
+     * that is malformed or not http or https is not followed; it is the
+     * response. Each request's connect and read timeouts are limited to the
+     * time left before the check's deadline; its connect and first byte times
+     * are added to the check's.
+     *
+     * @param url
+     *            the url
+     * @param check
+     *            the check
+     * @param requestMethod
+     *            the request method
+     * @param changeUserAgent
+     *            true to request with a browser user agent
+     * @return the url timing of the check so far
+     * @throws IOException
+     *             Signals that an I/O exception has occurred; a
+     *             SocketTimeoutException once the check's deadline has passed
+     * @see com.sios.stc.coseng.util.Http#connect(String, Check, String, boolean)
+     * @since 3.0
+     * @version.coseng
+     */
+    private static UrlTiming request(URL url, Check check, String requestMethod,
+            boolean changeUserAgent) throws IOException {
+        List<String> redirects = new ArrayList<String>();
+        URL location = url;
+        while (true) {
+            int remainingMillis = check.getRemainingMillis();
+            if (remainingMillis <= 0) {
+                throw new SocketTimeoutException("Check deadline passed at [" + location + "]");
+            }
+            HttpURLConnection connection = (HttpURLConnection) location.openConnection();
+            if (connection instanceof HttpsURLConnection && trustAllSocketFactory != null) {
+                HttpsURLConnection https = (HttpsURLConnection) connection;
+                https.setSSLSocketFactory(trustAllSocketFactory);
+                https.setHostnameVerifier(trustAllHostnameVerifier);
+            }
+            connection.setConnectTimeout(Math.min(check.connectMillisTimeout, remainingMillis));
+            connection.setReadTimeout(Math.min(check.readMillisTimeout, remainingMillis));
+            connection.setRequestMethod(requestMethod);
+            connection.setInstanceFollowRedirects(false);
             /* Fake out the user agent when asked */
             if (changeUserAgent) {
-                System.setProperty(sysPropUserAgent, userAgentNew);
+                connection.setRequestProperty(userAgentHeader, userAgentNew);
             }
-
-            /* Create trust manager for all certs */
-            TrustManager[] trustAllCerts = new TrustManager[] { new X509TrustManager() {
-                public java.security.cert.X509Certificate[] getAcceptedIssuers() {
-                    return null;
+            long connectNanos = System.nanoTime();
+            connection.connect();
+            long connectedNanos = System.nanoTime();
+            check.connectNanos += connectedNanos - connectNanos;
+            int responseCode = connection.getResponseCode();
+            check.firstByteNanos += System.nanoTime() - connectedNanos;
+            String redirect = connection.getHeaderField(locationHeader);
+            drain(connection);
+            URL next = null;
+            if (isRedirect(responseCode) && redirect != null && redirects.size() < maxRedirects) {
+                try {
+                    next = toHttpUrl(new URL(location, redirect).toString());
+                } catch (MalformedURLException e) {
+                    // do nothing; the redirect is the response
                 }
+            }
+            if (next != null) {
+                location = next;
+                redirects.add(responseCode + " " + location);
+            } else {
+                return check.getTiming(requestMethod, responseCode, redirects);
+            }
+        }
+    }
 
-                public void checkClientTrusted(java.security.cert.X509Certificate[] certs,
-                        String authType) {
-                }
+    /**
+     * Checks if a response code is a redirect to follow.
+     *
+     * @param responseCode
+     *            the response code
+     * @return true, if a redirect
+     * @since 3.0
+     * @version.coseng
+     */
+    private static boolean isRedirect(int responseCode) {
+        return responseCode == HttpURLConnection.HTTP_MOVED_PERM
+                || responseCode == HttpURLConnection.HTTP_MOVED_TEMP
+                || responseCode == HttpURLConnection.HTTP_SEE_OTHER || responseCode == 307
+                || responseCode == 308;
+    }
 
-                public void checkServerTrusted(java.security.cert.X509Certificate[] certs,
-                        String authType) {
+    /**
+     * Drain and close the response of a connection; a fully read and closed
+     * response lets the connection be kept alive for reuse.
+     *
+     * @param connection
+     *            the connection
+     * @since 3.0
+     * @version.coseng
+     */
+    private static void drain(HttpURLConnection connection) {
+        InputStream stream = connection.getErrorStream();
+        try {
+            if (stream == null) {
+                stream = connection.getInputStream();
+            }
+            if (stream != null) {
+                byte[] buffer = new byte[drainBufferBytes];
+                while (stream.read(buffer) != -1) {
+                    // discard
                 }
-            } };
+            }
+        } catch (IOException e) {
+            /* Not reusable; disconnect rather than leave a partial response */
+            connection.disconnect();
+        } finally {
+            IOUtils.closeQuietly(stream);
+        }
+    }
 
-            /* Install the all-trusting trust manager */
-            try {
-                SSLContext sc = SSLContext.getInstance("SSL");
-                sc.init(null, trustAllCerts, new java.security.SecureRandom());
-                HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
-            } catch (KeyManagementException | NoSuchAlgorithmException e1) {
-                // do nothing; will be 0
+    /**
+     * Creates the SSL socket factory trusting all certs. Created once; shared
+     * by all connections.
+     *
+     * @return the SSL socket factory; null if unable to create
+     * @since 3.0
+     * @version.coseng
+     */
+    private static SSLSocketFactory createTrustAllSocketFactory() {
+        /* Create trust manager for all certs */
+        TrustManager[] trustAllCerts = new TrustManager[] { new X509TrustManager() {
+            public java.security.cert.X509Certificate[] getAcceptedIssuers() {
+                return null;
             }
 
-            /* Don't verify host names */
-            HostnameVerifier hv = new HostnameVerifier() {
-                public boolean verify(String urlHostName, SSLSession session) {
-                    return true;
-                }
-            };
-            HttpsURLConnection.setDefaultHostnameVerifier(hv);
+            public void checkClientTrusted(java.security.cert.X509Certificate[] certs,
+                    String authType) {
+            }
 
-            StopWatch stopWatch = new StopWatch();
-            stopWatch.start();
-            do {
-                try {
-                    HttpURLConnection connection =
-                            (HttpURLConnection) new URL(url).openConnection();
-                    connection.setConnectTimeout(millisTimeout);
-                    connection.setReadTimeout(millisTimeout);
-                    connection.setRequestMethod(requestMethod);
-                    int responseCode = connection.getResponseCode();
-                    /* Change back to original user agent if changed */
-                    if (changeUserAgent && userAgentOriginal != null) {
-                        System.setProperty(sysPropUserAgent, userAgentOriginal);
-                    }
-                    return responseCode;
-                } catch (IOException | ClassCastException e) {
-                    // do nothing; will be 0
-                }
-            } while (stopWatch.getTime() < millisTimeout);
-            stopWatch.stop();
+            public void checkServerTrusted(java.security.cert.X509Certificate[] certs,
+                    String authType) {
+            }
+        } };
+        try {
+            SSLContext sc = SSLContext.getInstance("SSL");
+            sc.init(null, trustAllCerts, new java.security.SecureRandom());
+            return sc.getSocketFactory();
+        } catch (KeyManagementException | NoSuchAlgorithmException e) {
+            // do nothing; https connections use the default factory
+            return null;
+        }
+    }
+
+    /**
+     * The Class Check holds the timeouts, deadline and timing of one url
+     * check. A check, with its attempt with a browser user agent and every
+     * redirect of each attempt, ends by one deadline; the connect plus the
+     * read timeout from its start. Its connect and first byte times add up
+     * those of every request it made; its total time is from its start,
+     * failed attempts included. A check is used by one thread.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    private static final class Check {
+
+        private final long startNanos = System.nanoTime();
+        private final int  connectMillisTimeout;
+        private final int  readMillisTimeout;
+        private final long deadlineNanos;
+        private long       connectNanos   = 0;
+        private long       firstByteNanos = 0;
+
+        private Check(Integer connectMillisTimeout, Integer readMillisTimeout) {
+            if (connectMillisTimeout == null || connectMillisTimeout <= 0) {
+                connectMillisTimeout = millisConnectTimeoutDefault;
+            }
+            if (readMillisTimeout == null || readMillisTimeout <= 0) {
+                readMillisTimeout = millisReadTimeoutDefault;
+            }
+            this.connectMillisTimeout = connectMillisTimeout;
+            this.readMillisTimeout = readMillisTimeout;
+            this.deadlineNanos = startNanos
+                    + TimeUnit.MILLISECONDS.toNanos(connectMillisTimeout + readMillisTimeout);
+        }
+
+        private int getRemainingMillis() {
+            return (int) Math.max(0L,
+                    TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+        }
+
+        /* Failed attempts are retried until the connect timeout from the start */
+        private long getRetryWindowMillis() {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            return Math.min(connectMillisTimeout - elapsedMillis, getRemainingMillis());
+        }
+
+        private UrlTiming getTiming(String requestMethod, int responseCode,
+                List<String> redirects) {
+            return new UrlTiming(requestMethod, responseCode,
+                    TimeUnit.NANOSECONDS.toMillis(connectNanos),
+                    TimeUnit.NANOSECONDS.toMillis(firstByteNanos),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), redirects);
+        }
+    }
+
+    /**
+     * The Class Flight is the shared result of a probe in flight. The response
+     * code and timing the probe kept under its url are captured when it lands
+     * so that each check sharing it can keep them under its own url.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    private static final class Flight extends CompletableFuture<Boolean> {
+
+        private final String       url;
+        private volatile Integer   responseCode = null;
+        private volatile UrlTiming timing       = null;
+
+        private Flight(String url) {
+            this.url = url;
+        }
+
+        private void landed(boolean isAccessible) {
+            responseCode = urlsResponseCode.get(url);
+            timing = urlsTiming.get(url);
+            complete(isAccessible);
+        }
+
+        private void share(String checkedUrl) {
+            if (url.equals(checkedUrl)) {
+                return;
+            }
+            if (responseCode != null) {
+                urlsResponseCode.put(checkedUrl, responseCode);
+            }
+            if (timing != null) {
+                urlsTiming.put(checkedUrl, timing);
+            }
         }
-        return 0;
     }
 
 }
@@ -0,0 +1,181 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.util;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Class HttpCheckPool checks Http URL accessibility in the background. At
+ * most the maximum checks run at once and at most the maximum checks per host
+ * run at once against any one host; further checks against a busy host wait
+ * in that host's queue without holding a check thread, so checks against
+ * other hosts proceed. Idle check threads end after a minute so a pool no
+ * longer referenced needs no shutdown.
+ *
+ * @see com.sios.stc.coseng.util.Http#isAccessibleAsync(String, Integer)
+ * @since 3.0
+ * @version.coseng
+ */
+class HttpCheckPool {
+
+    private static final long                          IDLE_SECONDS = 60L;
+    private final ThreadPoolExecutor                   executor;
+    private final int                                  maxChecksPerHost;
+    private final ConcurrentHashMap<String, HostQueue> hosts        =
+            new ConcurrentHashMap<String, HostQueue>();
+
+    /**
+     * Instantiates a new http check pool.
+     *
+     * @param maxChecks
+     *            the maximum checks running at once; must be &gt; 0
+     * @param maxChecksPerHost
+     *            the maximum checks running at once against one host; must be
+     *            &gt; 0
+     * @since 3.0
+     * @version.coseng
+     */
+    protected HttpCheckPool(int maxChecks, int maxChecksPerHost) {
+        this.executor = new ThreadPoolExecutor(maxChecks, maxChecks, IDLE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new CheckThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.maxChecksPerHost = maxChecksPerHost;
+    }
+
+    /**
+     * Check a URL in the background.
+     *
+     * @param url
+     *            the url
+     * @param millisTimeout
+     *            the millisecond timeout
+     * @return the future accessibility of the URL
+     * @see com.sios.stc.coseng.util.Http#probe(String, Integer, Integer)
+     * @since 3.0
+     * @version.coseng
+     */
+    protected CompletableFuture<Boolean> submit(final String url, final Integer millisTimeout) {
+        final CompletableFuture<Boolean> future = new CompletableFuture<Boolean>();
+        final HostQueue host = getHostQueue(url);
+        Runnable check = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    future.complete(Http.probe(url, millisTimeout, millisTimeout));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    next(host);
+                }
+            }
+        };
+        synchronized (host) {
+            if (host.running < maxChecksPerHost) {
+                host.running++;
+                executor.execute(check);
+            } else {
+                host.waiting.add(check);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Start the next check waiting on a host, if any.
+     *
+     * @param host
+     *            the host queue
+     * @since 3.0
+     * @version.coseng
+     */
+    private void next(HostQueue host) {
+        synchronized (host) {
+            Runnable check = host.waiting.poll();
+            if (check == null) {
+                host.running--;
+            } else {
+                executor.execute(check);
+            }
+        }
+    }
+
+    /**
+     * Gets the host queue of a URL; malformed URLs share one queue.
+     *
+     * @param url
+     *            the url
+     * @return the host queue
+     * @since 3.0
+     * @version.coseng
+     */
+    private HostQueue getHostQueue(String url) {
+        String host;
+        try {
+            URL parsed = new URL(url);
+            host = parsed.getHost() + ":" + parsed.getPort();
+        } catch (MalformedURLException e) {
+            host = "";
+        }
+        HostQueue queue = hosts.get(host);
+        if (queue == null) {
+            hosts.putIfAbsent(host, new HostQueue());
+            queue = hosts.get(host);
+        }
+        return queue;
+    }
+
+    /**
+     * The Class HostQueue holds the checks waiting on, and the count of checks
+     * running against, one host. Guarded by its own monitor.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    private static final class HostQueue {
+        private final Queue<Runnable> waiting = new ArrayDeque<Runnable>();
+        private int                   running = 0;
+    }
+
+    /**
+     * The Class CheckThreadFactory creates named daemon check threads.
+     *
+     * @since 3.0
+     * @version.coseng
+     */
+    private static final class CheckThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "coseng-http-check-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
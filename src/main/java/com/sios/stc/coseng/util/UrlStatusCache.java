@@ -0,0 +1,192 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+
+import com.sios.stc.coseng.run.CosengException;
+
+/**
+ * The Class UrlStatusCache keeps the response code of checked URLs for a time
+ * to live so the same URLs are not checked again by every test, browser and
+ * execution. The cache is persisted as one tab separated line per URL; the
+ * URL, its response code and the epoch millisecond it was checked. Only URLs
+ * that responded are cached; a URL that could not be connected to is checked
+ * again.
+ *
+ * @see com.sios.stc.coseng.util.Http#setStatusCache(File, int)
+ * @since 3.0
+ * @version.coseng
+ */
+class UrlStatusCache {
+
+    private static final String                     SEPARATOR = "\t";
+    private final File                              file;
+    private final long                              ttlMillis;
+    private final ConcurrentHashMap<String, long[]> entries   =
+            new ConcurrentHashMap<String, long[]>();
+    private final AtomicInteger                     hit       = new AtomicInteger();
+    private final AtomicInteger                     miss      = new AtomicInteger();
+
+    /**
+     * Instantiates a new url status cache and loads its fresh entries from
+     * file. An absent file is an empty cache.
+     *
+     * @param file
+     *            the cache file
+     * @param ttlMinutes
+     *            the minutes an entry is fresh
+     * @throws CosengException
+     *             the coseng exception; if the file could not be read
+     * @since 3.0
+     * @version.coseng
+     */
+    protected UrlStatusCache(File file, int ttlMinutes) throws CosengException {
+        this.file = file;
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        if (file.exists()) {
+            try {
+                long now = System.currentTimeMillis();
+                for (String line : FileUtils.readLines(file, StandardCharsets.UTF_8)) {
+                    String[] fields = line.split(SEPARATOR);
+                    if (fields.length == 3) {
+                        long checked = Long.parseLong(fields[2]);
+                        if (isFresh(checked, now)) {
+                            entries.put(fields[0],
+                                    new long[] { Integer.parseInt(fields[1]), checked });
+                        }
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                throw new CosengException("Unable to read URL status cache [" + file + "]", e);
+            }
+        }
+    }
+
+    /**
+     * Gets the fresh response code of a URL. Counts a hit or miss.
+     *
+     * @param url
+     *            the url
+     * @return the response code; null if absent or stale
+     * @since 3.0
+     * @version.coseng
+     */
+    protected Integer get(String url) {
+        long[] entry = entries.get(url);
+        if (entry != null && isFresh(entry[1], System.currentTimeMillis())) {
+            hit.incrementAndGet();
+            return (int) entry[0];
+        }
+        miss.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Put the response code of a checked URL. A URL that could not be
+     * connected to, response code 0, is not cached.
+     *
+     * @param url
+     *            the url
+     * @param responseCode
+     *            the response code
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void put(String url, int responseCode) {
+        if (responseCode > 0) {
+            entries.put(url, new long[] { responseCode, System.currentTimeMillis() });
+        }
+    }
+
+    /**
+     * Save the fresh entries to file. Written to a temporary file and moved
+     * into place so a concurrent reader never sees a partial cache.
+     *
+     * @throws CosengException
+     *             the coseng exception
+     * @since 3.0
+     * @version.coseng
+     */
+    protected void save() throws CosengException {
+        long now = System.currentTimeMillis();
+        List<String> lines = new ArrayList<String>();
+        for (Map.Entry<String, long[]> entry : entries.entrySet()) {
+            long[] status = entry.getValue();
+            if (isFresh(status[1], now) && !entry.getKey().contains(SEPARATOR)) {
+                lines.add(entry.getKey() + SEPARATOR + status[0] + SEPARATOR + status[1]);
+            }
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            FileUtils.writeLines(temp, StandardCharsets.UTF_8.name(), lines);
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new CosengException("Unable to save URL status cache [" + file + "]", e);
+        }
+    }
+
+    /**
+     * Gets the hit count.
+     *
+     * @return the hit count
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getHitCount() {
+        return hit.get();
+    }
+
+    /**
+     * Gets the miss count.
+     *
+     * @return the miss count
+     * @since 3.0
+     * @version.coseng
+     */
+    protected int getMissCount() {
+        return miss.get();
+    }
+
+    /**
+     * Checks if an entry checked at a time is fresh.
+     *
+     * @param checked
+     *            the epoch millis the entry was checked
+     * @param now
+     *            the epoch millis now
+     * @return true, if fresh
+     * @since 3.0
+     * @version.coseng
+     */
+    private boolean isFresh(long checked, long now) {
+        return now - checked < ttlMillis;
+    }
+
+}
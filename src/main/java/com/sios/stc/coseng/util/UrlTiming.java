@@ -0,0 +1,157 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The Class UrlTiming holds the timing of one Http URL check. The connect time
+ * includes the host name lookup and, for https, the TLS handshake; it is near
+ * 0 when a kept alive connection is reused. The first byte time is from
+ * connected until the response status is read. Connect and first byte times
+ * are summed over every request of the check; each redirect and, if the
+ * first attempt was not accessible, the attempt with a browser user agent.
+ * The total time is of the whole check, from its start, including failed
+ * attempts and draining each response. Each redirect of the last attempt is
+ * recorded as the redirect response code and the URL redirected to.
+ *
+ * @see com.sios.stc.coseng.util.Http#getTiming(String)
+ * @since 3.0
+ * @version.coseng
+ */
+public class UrlTiming {
+
+    private final String       requestMethod;
+    private final int          responseCode;
+    private final long         connectMillis;
+    private final long         firstByteMillis;
+    private final long         totalMillis;
+    private final List<String> redirects;
+
+    /**
+     * Instantiates a new url timing.
+     *
+     * @param requestMethod
+     *            the request method
+     * @param responseCode
+     *            the response code of the last request; 0 if unable to
+     *            connect
+     * @param connectMillis
+     *            the connect millis; of all requests
+     * @param firstByteMillis
+     *            the first byte millis; of all requests
+     * @param totalMillis
+     *            the total millis; of the whole check
+     * @param redirects
+     *            the redirects; response code and URL redirected to
+     * @since 3.0
+     * @version.coseng
+     */
+    protected UrlTiming(String requestMethod, int responseCode, long connectMillis,
+            long firstByteMillis, long totalMillis, List<String> redirects) {
+        this.requestMethod = requestMethod;
+        this.responseCode = responseCode;
+        this.connectMillis = connectMillis;
+        this.firstByteMillis = firstByteMillis;
+        this.totalMillis = totalMillis;
+        this.redirects = Collections.unmodifiableList(new ArrayList<String>(redirects));
+    }
+
+    /**
+     * Gets the request method.
+     *
+     * @return the request method
+     * @since 3.0
+     * @version.coseng
+     */
+    public String getRequestMethod() {
+        return requestMethod;
+    }
+
+    /**
+     * Gets the response code of the last request of the redirect chain.
+     *
+     * @return the response code; 0 if unable to connect
+     * @since 3.0
+     * @version.coseng
+     */
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    /**
+     * Gets the connect millis; host name lookup and connect, summed over every
+     * request of the check.
+     *
+     * @return the connect millis
+     * @since 3.0
+     * @version.coseng
+     */
+    public long getConnectMillis() {
+        return connectMillis;
+    }
+
+    /**
+     * Gets the first byte millis; connected until the response status is
+     * read, summed over every request of the check.
+     *
+     * @return the first byte millis
+     * @since 3.0
+     * @version.coseng
+     */
+    public long getFirstByteMillis() {
+        return firstByteMillis;
+    }
+
+    /**
+     * Gets the total millis of the check; every attempt and redirect.
+     *
+     * @return the total millis
+     * @since 3.0
+     * @version.coseng
+     */
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Gets the redirects; each the redirect response code and the URL
+     * redirected to.
+     *
+     * @return the redirects; empty if none
+     * @since 3.0
+     * @version.coseng
+     */
+    public List<String> getRedirects() {
+        return redirects;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "method [" + requestMethod + "], connect (ms) [" + connectMillis
+                + "], first byte (ms) [" + firstByteMillis + "], total (ms) [" + totalMillis
+                + "], redirects " + redirects;
+    }
+
+}
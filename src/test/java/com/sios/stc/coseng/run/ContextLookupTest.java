@@ -0,0 +1,138 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * The Class ContextLookupTest looks up the thread's test and selenium tools,
+ * as every CosengRunner tool getter does, from many threads at once and checks
+ * each thread sees only its own. The lookups must not wait on the lock of the
+ * runner or of a context.
+ *
+ * @see com.sios.stc.coseng.run.CosengRunner#getContext(Thread)
+ * @since 3.0
+ * @version.coseng
+ */
+public class ContextLookupTest {
+
+    private static final String NAME           = "lookup-";
+    private static final int    THREADS        = 8;
+    private static final int    LOOKUPS        = 10000;
+    private static final long   TIMEOUT_MILLIS = 5000L;
+
+    @org.testng.annotations.Test
+    public void lookupsSeeOwnThread() throws InterruptedException {
+        AtomicLong mismatches = new AtomicLong();
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < THREADS; i++) {
+            String name = NAME + i;
+            Thread thread = new Thread(() -> {
+                Test test = newTest(name);
+                WebDriver webDriver = new HtmlUnitDriver();
+                try {
+                    register(test, webDriver);
+                    ready.countDown();
+                    start.await();
+                    for (int j = 0; j < LOOKUPS; j++) {
+                        if (CosengRunner.getTest() != test
+                                || CosengRunner.getWebDriver() != webDriver
+                                || CosengRunner.getWebDriverWait() == null) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    mismatches.incrementAndGet();
+                } finally {
+                    webDriver.quit();
+                    CosengRunner.removeThreadTests(name);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        ready.await();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TIMEOUT_MILLIS);
+            /* Released with its test */
+            assertNull(CosengRunner.getContext(thread), thread.getName());
+        }
+        assertEquals(mismatches.get(), 0L, "lookups of another thread's test or tools");
+    }
+
+    @org.testng.annotations.Test
+    public void lookupsTakeNoLock()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        String name = NAME + "locked";
+        WebDriver webDriver = new HtmlUnitDriver();
+        CountDownLatch registered = new CountDownLatch(1);
+        CountDownLatch locked = new CountDownLatch(1);
+        Test test = newTest(name);
+        FutureTask<WebDriver> lookup = new FutureTask<WebDriver>(() -> {
+            register(test, webDriver);
+            registered.countDown();
+            locked.await();
+            return (CosengRunner.getTest() == test ? CosengRunner.getWebDriver() : null);
+        });
+        Thread thread = new Thread(lookup);
+        try {
+            thread.start();
+            registered.await();
+            CosengContext context = CosengRunner.getContext(thread);
+            synchronized (CosengRunner.class) {
+                synchronized (context) {
+                    locked.countDown();
+                    assertSame(lookup.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), webDriver);
+                }
+            }
+        } finally {
+            webDriver.quit();
+            CosengRunner.removeThreadTests(name);
+        }
+    }
+
+    private static void register(Test test, WebDriver webDriver) {
+        Thread thread = Thread.currentThread();
+        CosengRunner.addThreadTest(thread, test);
+        CosengRunner.getContext(thread).setSeleniumTools(webDriver, null, 1);
+    }
+
+    private static Test newTest(String name) {
+        return new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create()
+                .fromJson("{\"name\": \"" + name + "\"}", Test.class);
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.apache.commons.io.FileUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * The Class FindAllTest finds the elements of a generated page with
+ * WebElements.findAll() and checks each is wrapped, in order, and bound to the
+ * selenium tools of the thread that found it. The page is loaded from a
+ * temporary file with an HtmlUnit web driver.
+ *
+ * @see com.sios.stc.coseng.run.WebElements#findAll()
+ * @since 3.0
+ * @version.coseng
+ */
+public class FindAllTest {
+
+    private static final String NAME     = "findAll";
+    private static final int    ELEMENTS = 50;
+    private static final By     BY_ITEM  = By.className("item");
+    private File                directory;
+    private HtmlUnitDriver      webDriver;
+
+    @BeforeClass
+    public void loadPage() throws IOException {
+        directory = File.createTempFile(NAME, "");
+        directory.delete();
+        directory.mkdirs();
+        StringBuilder html = new StringBuilder("<!DOCTYPE html>\n<html><head><title>")
+                .append(ELEMENTS).append(" elements</title></head><body>\n");
+        for (int i = 0; i < ELEMENTS; i++) {
+            html.append("<div class=\"item\">").append(i).append("</div>\n");
+        }
+        html.append("</body></html>\n");
+        File page = new File(directory, "elements.html");
+        FileUtils.writeStringToFile(page, html.toString(), StandardCharsets.UTF_8);
+        webDriver = new HtmlUnitDriver(true);
+        webDriver.get(page.toURI().toString());
+        Test test = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create()
+                .fromJson("{\"name\": \"" + NAME + "\"}", Test.class);
+        CosengRunner.addThreadTest(Thread.currentThread(), test);
+        CosengRunner.getContext().setSeleniumTools(webDriver, null, 1);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void quit() {
+        CosengRunner.removeThreadTests(NAME);
+        if (webDriver != null) {
+            webDriver.quit();
+        }
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @org.testng.annotations.Test
+    public void findAllWrapsEachFound() {
+        List<org.openqa.selenium.WebElement> found = webDriver.findElements(BY_ITEM);
+        WebElements webElements = new WebElements(BY_ITEM);
+        assertTrue(webElements.findAll());
+        assertEquals(webElements.size(), ELEMENTS);
+        for (int i = 0; i < ELEMENTS; i++) {
+            assertEquals(webElements.get(i).get(), found.get(i), "element " + i);
+            assertEquals(webElements.get(i).getText(), String.valueOf(i), "element " + i);
+        }
+        /* Found again; replaced, not appended */
+        assertTrue(webElements.findAll());
+        assertEquals(webElements.size(), ELEMENTS);
+    }
+
+    @org.testng.annotations.Test
+    public void findAllBindsToFindingThread()
+            throws InterruptedException, ExecutionException {
+        WebElements webElements = new WebElements(BY_ITEM);
+        assertTrue(webElements.findAll());
+        WebElement last = webElements.get(ELEMENTS - 1);
+        org.openqa.selenium.WebElement seleniumWebElement = last.get();
+        /* A thread without a context; a looked up web element cannot be made */
+        FutureTask<String> other = new FutureTask<String>(() -> {
+            try {
+                new WebElement(seleniumWebElement);
+                return "looked up";
+            } catch (CosengException e) {
+                return (last.textEquals(String.valueOf(ELEMENTS - 1)) ? "bound" : "unbound");
+            }
+        });
+        new Thread(other).start();
+        assertEquals(other.get(), "bound");
+    }
+
+    @org.testng.annotations.Test
+    public void findAllWithoutContext() throws InterruptedException, ExecutionException {
+        FutureTask<WebElements> other = new FutureTask<WebElements>(() -> {
+            WebElements webElements = new WebElements(BY_ITEM);
+            assertFalse(webElements.findAll());
+            return webElements;
+        });
+        new Thread(other).start();
+        assertEquals(other.get().size(), 0);
+        assertSame(CosengRunner.getWebDriver(), webDriver);
+    }
+
+}
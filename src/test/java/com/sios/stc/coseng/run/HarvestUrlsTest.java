@@ -0,0 +1,129 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+
+/**
+ * The Class HarvestUrlsTest harvests the URLs of a generated page of links with
+ * one script execution and checks them, and their order, against those read
+ * from each element in turn. The page mixes anchors, images, stylesheet links,
+ * repeated and empty URLs; it is loaded from a temporary file with HtmlUnit
+ * web drivers, with and without javascript.
+ *
+ * @see com.sios.stc.coseng.run.CosengRunner#harvestUrls(WebDriver)
+ * @since 3.0
+ * @version.coseng
+ */
+public class HarvestUrlsTest {
+
+    private static final int LINKS = 500;
+    private File             directory;
+    private File             page;
+
+    @BeforeClass
+    public void writePage() throws IOException {
+        directory = File.createTempFile("harvest", "");
+        directory.delete();
+        directory.mkdirs();
+        StringBuilder html = new StringBuilder("<!DOCTYPE html>\n<html><head><title>")
+                .append(LINKS).append(" links</title></head><body>\n");
+        for (int i = 0; i < LINKS; i++) {
+            if (i % 50 == 0) {
+                html.append("<link rel=\"stylesheet\" href=\"style-").append(i)
+                        .append(".css\">\n");
+            } else if (i % 10 == 0) {
+                html.append("<img src=\"image-").append(i).append(".png\">\n");
+            } else if (i % 7 == 0) {
+                /* Found again; the first tag is kept */
+                html.append("<area href=\"page-").append(i - 1).append(".html\">\n");
+            } else if (i % 11 == 0) {
+                html.append("<a href=\"\">empty</a>\n");
+            } else {
+                html.append("<a href=\"page-").append(i).append(".html\">").append(i)
+                        .append("</a>\n");
+            }
+        }
+        html.append("<script src=\"site.js\"></script>\n</body></html>\n");
+        page = new File(directory, "links.html");
+        FileUtils.writeStringToFile(page, html.toString(), StandardCharsets.UTF_8);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deletePage() {
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @org.testng.annotations.Test
+    public void harvestByScript() {
+        harvestEqualsByElement(new HtmlUnitDriver(true));
+    }
+
+    @org.testng.annotations.Test
+    public void harvestWithoutJavascript() {
+        harvestEqualsByElement(new HtmlUnitDriver(false));
+    }
+
+    private void harvestEqualsByElement(WebDriver webDriver) {
+        try {
+            webDriver.get(page.toURI().toString());
+            Map<String, String> harvested = CosengRunner.harvestUrls(webDriver);
+            Map<String, String> byElement = harvestByElement(webDriver);
+            assertEquals(new ArrayList<String>(harvested.keySet()),
+                    new ArrayList<String>(byElement.keySet()), "urls in page order");
+            assertEquals(harvested, byElement, "tags");
+        } finally {
+            webDriver.quit();
+        }
+    }
+
+    /**
+     * Harvest by reading each element in turn; the 'href', else the 'src',
+     * and the tag name of each element. The first tag of a URL is kept.
+     */
+    private static Map<String, String> harvestByElement(WebDriver webDriver) {
+        Map<String, String> found = new LinkedHashMap<String, String>();
+        List<org.openqa.selenium.WebElement> urlList =
+                webDriver.findElements(By.xpath("//*[@href or @src]"));
+        for (org.openqa.selenium.WebElement webElement : urlList) {
+            String url = webElement.getAttribute("href");
+            if (url == null) {
+                url = webElement.getAttribute("src");
+            }
+            if (url != null && !url.isEmpty() && !found.containsKey(url)) {
+                found.put(url, webElement.getTagName());
+            }
+        }
+        return found;
+    }
+
+}
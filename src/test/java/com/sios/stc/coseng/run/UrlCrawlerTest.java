@@ -0,0 +1,175 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.run;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.IOUtils;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+
+import com.google.gson.GsonBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The Class UrlCrawlerTest crawls the static site under the test resource
+ * directory 'crawl' to a fixed depth and checks the pages loaded and the routes
+ * recorded. The site is served from the classpath by a local http server and
+ * crawled with HtmlUnit web drivers.
+ *
+ * <pre>
+ * depth 0  index.html  links a, b#top, index, an external page; site.css, logo.png
+ * depth 1  a.html      links c, b, index, the site root
+ *          b.html      links d
+ * depth 2  c.html      links e
+ *          d.html      links c
+ *          /           the index, served at the site root
+ * depth 3  e.html      links f; beyond the crawl depth
+ * </pre>
+ *
+ * @see com.sios.stc.coseng.run.UrlCrawler
+ * @since 3.0
+ * @version.coseng
+ */
+public class UrlCrawlerTest {
+
+    private static final String SITE        = "crawl";
+    private static final int    CRAWL_DEPTH = 2;
+    private HttpServer          server;
+    private String              siteUrl;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::serve);
+        server.start();
+        siteUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @org.testng.annotations.Test
+    public void crawlToDepth() throws CosengException {
+        Test test = newTest(siteUrl + "index.html", CRAWL_DEPTH, 2);
+        Map<String, Map<String, String>> routes =
+                new ConcurrentHashMap<String, Map<String, String>>();
+        UrlCrawler crawler = new UrlCrawler(test, (found, route) -> routes.put(route, found),
+                () -> new WebDriverSession(new HtmlUnitDriver(true), null));
+        Map<String, Long> loadMillis = crawler.crawl();
+
+        Set<String> pages = pages("index.html", "a.html", "b.html", "c.html", "d.html", "");
+        assertEquals(loadMillis.keySet(), pages, "crawled pages");
+        assertEquals(routes.keySet(), pages, "recorded routes");
+
+        Map<String, String> index = routes.get(siteUrl + "index.html");
+        assertEquals(index.get(siteUrl + "a.html"), "a");
+        assertEquals(index.get(siteUrl + "b.html#top"), "a");
+        assertEquals(index.get(siteUrl + "site.css"), "link");
+        assertEquals(index.get(siteUrl + "logo.png"), "img");
+        assertEquals(index.get("http://coseng.invalid/elsewhere.html"), "a");
+        /* Found at the crawl depth but not loaded */
+        assertEquals(routes.get(siteUrl + "c.html").get(siteUrl + "e.html"), "a");
+        assertFalse(routes.containsKey(siteUrl + "e.html"));
+    }
+
+    @org.testng.annotations.Test
+    public void crawlBaseUrlOnly() throws CosengException {
+        Test test = newTest(siteUrl + "index.html", 0, 1);
+        Map<String, Map<String, String>> routes =
+                new ConcurrentHashMap<String, Map<String, String>>();
+        UrlCrawler crawler = new UrlCrawler(test, (found, route) -> routes.put(route, found),
+                () -> new WebDriverSession(new HtmlUnitDriver(true), null));
+        Map<String, Long> loadMillis = crawler.crawl();
+
+        assertEquals(loadMillis.keySet(), pages("index.html"));
+        assertEquals(routes.keySet(), pages("index.html"));
+        assertTrue(routes.get(siteUrl + "index.html").containsKey(siteUrl + "a.html"));
+    }
+
+    @org.testng.annotations.Test
+    public void crawlFromSiteRoot() throws CosengException {
+        /* No path; the root page must not be crawled again by its link from a */
+        String root = siteUrl.substring(0, siteUrl.length() - 1);
+        Test test = newTest(root, CRAWL_DEPTH, 1);
+        Map<String, Map<String, String>> routes =
+                new ConcurrentHashMap<String, Map<String, String>>();
+        UrlCrawler crawler = new UrlCrawler(test, (found, route) -> routes.put(route, found),
+                () -> new WebDriverSession(new HtmlUnitDriver(true), null));
+        Map<String, Long> loadMillis = crawler.crawl();
+
+        Set<String> pages = pages("", "index.html", "a.html", "b.html", "c.html", "d.html");
+        assertEquals(loadMillis.keySet(), pages, "crawled pages");
+        assertEquals(routes.keySet(), pages, "recorded routes");
+        assertFalse(loadMillis.containsKey(root));
+    }
+
+    private Test newTest(String baseUrl, int crawlDepth, int crawlWebDrivers) {
+        String json = "{\"name\": \"crawl\", \"baseUrl\": \"" + baseUrl + "\","
+                + " \"allowFindUrls\": true, \"crawlDepth\": " + crawlDepth + ","
+                + " \"crawlWebDrivers\": " + crawlWebDrivers + "}";
+        return new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create().fromJson(json,
+                Test.class);
+    }
+
+    private Set<String> pages(String... names) {
+        Set<String> pages = new HashSet<String>();
+        for (String name : Arrays.asList(names)) {
+            pages.add(siteUrl + name);
+        }
+        return pages;
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        try (InputStream resource = getClass().getClassLoader()
+                .getResourceAsStream(SITE + (path.equals("/") ? "/index.html" : path))) {
+            if (resource == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = IOUtils.toByteArray(resource);
+            exchange.getResponseHeaders().add("Content-Type",
+                    path.endsWith(".css") ? "text/css" : "text/html");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Concurrent Selenium TestNG (COSENG)
+ * Copyright (c) 2013-2017 SIOS Technology Corp.  All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sios.stc.coseng.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The Class UrlCheckTest checks a batch of urls in the background against a
+ * local stub http server and checks the answers and the limits on checks
+ * running at once. The batch is spread over four loopback hosts; each url is
+ * answered after a short delay, 204 for 'ok' and 500 for 'fail'. The server
+ * counts the requests in flight, in all and per host.
+ *
+ * @see com.sios.stc.coseng.util.Http#isAccessibleAsync(java.util.Collection)
+ * @since 3.0
+ * @version.coseng
+ */
+public class UrlCheckTest {
+
+    private static final String[]            HOSTS               =
+            { "127.0.0.1", "127.0.0.2", "127.0.0.3", "127.0.0.4" };
+    private static final int                 URLS                = 48;
+    private static final int                 MAX_CHECKS          = 6;
+    private static final int                 MAX_CHECKS_PER_HOST = 2;
+    private static final long                DELAY_MILLIS        = 100L;
+    private static final long                TIMEOUT_SECONDS     = 60L;
+    private final AtomicInteger              inFlight            = new AtomicInteger();
+    private final AtomicInteger              peak                = new AtomicInteger();
+    private final Map<String, AtomicInteger> hostInFlight        =
+            new ConcurrentHashMap<String, AtomicInteger>();
+    private final Map<String, AtomicInteger> hostPeak            =
+            new ConcurrentHashMap<String, AtomicInteger>();
+    private HttpServer                       server;
+    private ExecutorService                  executor;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/", this::serve);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        Http.setMaxChecks(MAX_CHECKS, MAX_CHECKS_PER_HOST);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        Http.setMaxChecks(0, 0);
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void batchBoundedByMaxChecks() throws Exception {
+        int port = server.getAddress().getPort();
+        List<String> urls = new ArrayList<String>();
+        for (int i = 0; i < URLS; i++) {
+            String kind = (i % 3 == 0 ? "fail" : "ok");
+            urls.add("http://" + HOSTS[i % HOSTS.length] + ":" + port + "/" + kind + "/" + i);
+        }
+        Map<String, CompletableFuture<Boolean>> accessible = Http.isAccessibleAsync(urls);
+        CompletableFuture.allOf(accessible.values().toArray(new CompletableFuture<?>[0]))
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        for (String url : urls) {
+            assertEquals(accessible.get(url).get(), Boolean.valueOf(url.contains("/ok/")), url);
+        }
+        assertTrue(peak.get() <= MAX_CHECKS, "peak checks [" + peak + "]");
+        /* The hosts are checked side by side, not one check at a time */
+        assertTrue(peak.get() > MAX_CHECKS_PER_HOST, "peak checks [" + peak + "]");
+        assertEquals(hostPeak.keySet().size(), HOSTS.length);
+        for (Map.Entry<String, AtomicInteger> entry : hostPeak.entrySet()) {
+            assertTrue(entry.getValue().get() <= MAX_CHECKS_PER_HOST,
+                    "host [" + entry.getKey() + "] peak checks [" + entry.getValue() + "]");
+        }
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        String host = exchange.getLocalAddress().getAddress().getHostAddress();
+        AtomicInteger hostCount = hostInFlight.computeIfAbsent(host, h -> new AtomicInteger());
+        AtomicInteger hostMax = hostPeak.computeIfAbsent(host, h -> new AtomicInteger());
+        try {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            hostMax.accumulateAndGet(hostCount.incrementAndGet(), Math::max);
+            Thread.sleep(DELAY_MILLIS);
+            String path = exchange.getRequestURI().getPath();
+            exchange.sendResponseHeaders(path.startsWith("/fail/") ? 500 : 204, -1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            hostCount.decrementAndGet();
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+}